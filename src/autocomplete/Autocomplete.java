@@ -1,7 +1,12 @@
 package autocomplete;
 
 import java.util.Collection;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * Suggest exact-character prefix matches for any query {@link CharSequence}.
@@ -10,6 +15,8 @@ import java.util.List;
  * @see SequentialSearchAutocomplete
  * @see BinarySearchAutocomplete
  * @see TernarySearchTreeAutocomplete
+ * @see RadixTreeAutocomplete
+ * @see WeightedAutocomplete
  */
 public interface Autocomplete {
     /**
@@ -25,4 +32,50 @@ public interface Autocomplete {
      * @param prefix search query.
      */
     List<CharSequence> allMatches(CharSequence prefix);
+
+    /**
+     * Returns an iterator over all autocompletion terms that match the given prefix. Implementations should produce
+     * each match only when it is requested, so that callers who stop early do not pay for the remaining matches. The
+     * default implementation iterates over {@link #allMatches(CharSequence)}.
+     * <p>
+     * The behavior of the iterator is unspecified if terms are added while it is in use.
+     *
+     * @param prefix search query.
+     * @return an iterator over the matching terms.
+     */
+    default Iterator<CharSequence> matchIterator(CharSequence prefix) {
+        return allMatches(prefix).iterator();
+    }
+
+    /**
+     * Returns a sequential stream of all autocompletion terms that match the given prefix, produced lazily by
+     * {@link #matchIterator(CharSequence)}, so short-circuiting operations such as {@link Stream#limit(long)} only
+     * produce the matches they consume.
+     *
+     * @param prefix search query.
+     * @return a stream of the matching terms.
+     */
+    default Stream<CharSequence> matches(CharSequence prefix) {
+        Spliterator<CharSequence> spliterator = Spliterators.spliteratorUnknownSize(
+                matchIterator(prefix), Spliterator.ORDERED | Spliterator.NONNULL
+        );
+        return StreamSupport.stream(spliterator, false);
+    }
+
+    /**
+     * Returns the number of autocompletion terms that match the given prefix. The default implementation counts the
+     * matches produced by {@link #matchIterator(CharSequence)}.
+     *
+     * @param prefix search query.
+     * @return the number of matching terms.
+     */
+    default int countMatches(CharSequence prefix) {
+        int count = 0;
+        Iterator<CharSequence> iterator = matchIterator(prefix);
+        while (iterator.hasNext()) {
+            iterator.next();
+            count += 1;
+        }
+        return count;
+    }
 }
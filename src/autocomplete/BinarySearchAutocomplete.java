@@ -3,6 +3,7 @@ package autocomplete;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.Iterator;
 import java.util.List;
 
 /**
@@ -31,41 +32,53 @@ public class BinarySearchAutocomplete implements Autocomplete {
 
     @Override
     public List<CharSequence> allMatches(CharSequence prefix) {
-        List<CharSequence> result = new ArrayList<>();
+        return new ArrayList<>(matchRange(prefix));
+    }
+
+    @Override
+    public Iterator<CharSequence> matchIterator(CharSequence prefix) {
+        // The range is a view of the sorted terms, so its iterator must not be able to remove them.
+        return Collections.unmodifiableList(matchRange(prefix)).iterator();
+    }
+
+    @Override
+    public int countMatches(CharSequence prefix) {
+        return matchRange(prefix).size();
+    }
+
+    // Returns a view of the consecutive sorted terms that match the prefix, found with two binary searches.
+    private List<CharSequence> matchRange(CharSequence prefix) {
         if (prefix == null || prefix.length() == 0) {
-            return result;
-        }
-        int ind = Collections.binarySearch(terms, prefix, CharSequence::compare);
-        if (ind < 0) {
-            ind = -(ind + 1);
+            return List.of();
         }
-        List<CharSequence> sub = terms.subList(ind, terms.size());
-        if (sub.size() < 1) { // this necessary? improve run time for empty case?
-            return result;
+        int start = Collections.binarySearch(terms, prefix, CharSequence::compare);
+        if (start < 0) {
+            start = -(start + 1);
         }
-        for (CharSequence term : sub) {
-            if (isPrefixOf(prefix, term)) {
-                result.add(term);
+        // Every term from start onwards that matches comes before every term that does not.
+        int low = start;
+        int high = terms.size();
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (isPrefixOf(prefix, terms.get(mid))) {
+                low = mid + 1;
             } else {
-                return result;
+                high = mid;
             }
-//            if (prefix.length() <= term.length()) {
-//                CharSequence part = term.subSequence(0, prefix.length());
-//                if (CharSequence.compare(prefix, part) == 0) {
-//                    result.add(term);
-//                } else {
-//                    return result;
-//                }
-//            }
         }
-        return result;
+        return terms.subList(start, low);
     }
 
+    // Returns true if the term starts with the prefix, comparing characters in place.
     private static boolean isPrefixOf(CharSequence prefix, CharSequence term) {
-        if (prefix.length() <= term.length()) {
-            CharSequence part = term.subSequence(0, prefix.length());
-            return CharSequence.compare(prefix, part) == 0;
+        if (prefix.length() > term.length()) {
+            return false;
+        }
+        for (int i = 0; i < prefix.length(); i += 1) {
+            if (prefix.charAt(i) != term.charAt(i)) {
+                return false;
+            }
         }
-        return false;
+        return true;
     }
 }
@@ -0,0 +1,340 @@
+package autocomplete;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * Radix tree (compressed trie) implementation of the {@link Autocomplete} interface. Each chain of nodes with a single
+ * child is merged into one edge, and every edge label is stored as a slice of a shared {@code char[]} arena rather than
+ * as one node per character.
+ * <p>
+ * Nodes are integer indices into parallel arrays, with each node's children kept in a linked list sorted by their
+ * first character, so a node costs 17 bytes however long its label is and there are at most twice as many nodes as
+ * terms. All traversals are iterative, so long terms cannot overflow the stack.
+ *
+ * @see Autocomplete
+ * @see TernarySearchTreeAutocomplete
+ */
+public class RadixTreeAutocomplete implements Autocomplete {
+    /**
+     * Initial number of nodes and arena characters.
+     */
+    private static final int INITIAL_CAPACITY = 16;
+    /**
+     * Index of the root node, whose label is always empty.
+     */
+    private static final int ROOT = 0;
+    /**
+     * Node index representing the absence of a node.
+     */
+    private static final int NONE = -1;
+    /**
+     * Characters of every edge label, each label a contiguous slice.
+     */
+    private char[] arena;
+    /**
+     * The number of characters used in the arena.
+     */
+    private int arenaSize;
+    /**
+     * Arena index of the first character of the label of each node.
+     */
+    private int[] labelStart;
+    /**
+     * Length of the label of each node.
+     */
+    private int[] labelLength;
+    /**
+     * First child of each node, or {@code NONE} for leaves.
+     */
+    private int[] firstChild;
+    /**
+     * Next sibling of each node in order of first label character, or {@code NONE} for the last child.
+     */
+    private int[] nextSibling;
+    /**
+     * Whether an autocompletion term ends at each node.
+     */
+    private boolean[] isTerm;
+    /**
+     * The number of nodes, including the root.
+     */
+    private int size;
+
+    /**
+     * Constructs an empty instance.
+     */
+    public RadixTreeAutocomplete() {
+        arena = new char[INITIAL_CAPACITY];
+        labelStart = new int[INITIAL_CAPACITY];
+        labelLength = new int[INITIAL_CAPACITY];
+        firstChild = new int[INITIAL_CAPACITY];
+        nextSibling = new int[INITIAL_CAPACITY];
+        isTerm = new boolean[INITIAL_CAPACITY];
+        newNode(0, 0, false);
+    }
+
+    @Override
+    public void addAll(Collection<? extends CharSequence> terms) {
+        for (CharSequence term : terms) {
+            add(term);
+        }
+    }
+
+    @Override
+    public List<CharSequence> allMatches(CharSequence prefix) {
+        List<CharSequence> result = new ArrayList<>();
+        matchIterator(prefix).forEachRemaining(result::add);
+        return result;
+    }
+
+    @Override
+    public Iterator<CharSequence> matchIterator(CharSequence prefix) {
+        if (prefix == null || prefix.length() == 0) {
+            return Collections.emptyIterator();
+        }
+        StringBuilder term = new StringBuilder(prefix);
+        int node = locate(prefix, term);
+        if (node == NONE) {
+            return Collections.emptyIterator();
+        }
+        return new MatchIterator(node, term);
+    }
+
+    @Override
+    public int countMatches(CharSequence prefix) {
+        if (prefix == null || prefix.length() == 0) {
+            return 0;
+        }
+        int node = locate(prefix, null);
+        if (node == NONE) {
+            return 0;
+        }
+        // Count the terms below the prefix without building any of them.
+        int count = isTerm[node] ? 1 : 0;
+        int[] stack = new int[INITIAL_CAPACITY];
+        int top = 0;
+        if (firstChild[node] != NONE) {
+            stack[top] = firstChild[node];
+            top += 1;
+        }
+        while (top > 0) {
+            top -= 1;
+            int curr = stack[top];
+            if (isTerm[curr]) {
+                count += 1;
+            }
+            if (top + 2 > stack.length) {
+                stack = Arrays.copyOf(stack, 2 * stack.length);
+            }
+            if (nextSibling[curr] != NONE) {
+                stack[top] = nextSibling[curr];
+                top += 1;
+            }
+            if (firstChild[curr] != NONE) {
+                stack[top] = firstChild[curr];
+                top += 1;
+            }
+        }
+        return count;
+    }
+
+    // Returns the node on whose incoming edge the prefix ends, or NONE if no term matches the prefix. If term is not
+    // null, appends the rest of that edge label so that term becomes the term ending at the node.
+    private int locate(CharSequence prefix, StringBuilder term) {
+        int node = ROOT;
+        int depth = 0;
+        while (true) {
+            int child = findChild(node, prefix.charAt(depth));
+            if (child == NONE) {
+                return NONE;
+            }
+            int start = labelStart[child];
+            int length = labelLength[child];
+            int matched = Math.min(length, prefix.length() - depth);
+            for (int j = 1; j < matched; j += 1) {
+                if (arena[start + j] != prefix.charAt(depth + j)) {
+                    return NONE;
+                }
+            }
+            depth += matched;
+            if (depth == prefix.length()) {
+                if (term != null) {
+                    term.append(arena, start + matched, length - matched);
+                }
+                return child;
+            }
+            node = child;
+        }
+    }
+
+    // Adds the term, splitting the edge where it diverges from the tree and storing only the unmatched suffix.
+    private void add(CharSequence term) {
+        int node = ROOT;
+        int depth = 0;
+        while (depth < term.length()) {
+            char c = term.charAt(depth);
+            int prev = NONE;
+            int child = firstChild[node];
+            while (child != NONE && arena[labelStart[child]] < c) {
+                prev = child;
+                child = nextSibling[child];
+            }
+            if (child == NONE || arena[labelStart[child]] != c) {
+                int start = append(term, depth);
+                int leaf = newNode(start, term.length() - depth, true);
+                link(node, prev, leaf, child);
+                return;
+            }
+            int start = labelStart[child];
+            int length = labelLength[child];
+            int matched = 1;
+            while (matched < length && depth + matched < term.length()
+                    && arena[start + matched] == term.charAt(depth + matched)) {
+                matched += 1;
+            }
+            if (matched < length) {
+                // Split the edge: the first part of the label becomes a new parent of the child.
+                int split = newNode(start, matched, false);
+                link(node, prev, split, nextSibling[child]);
+                firstChild[split] = child;
+                nextSibling[child] = NONE;
+                labelStart[child] += matched;
+                labelLength[child] -= matched;
+                child = split;
+            }
+            node = child;
+            depth += matched;
+        }
+        isTerm[node] = true;
+    }
+
+    // Returns the child of the node whose label starts with the character, or NONE if there is none.
+    private int findChild(int node, char c) {
+        for (int child = firstChild[node]; child != NONE; child = nextSibling[child]) {
+            char first = arena[labelStart[child]];
+            if (first == c) {
+                return child;
+            } else if (first > c) {
+                return NONE;
+            }
+        }
+        return NONE;
+    }
+
+    // Inserts the child into the node's list of children between prev and next, where prev is NONE for the front.
+    private void link(int node, int prev, int child, int next) {
+        nextSibling[child] = next;
+        if (prev == NONE) {
+            firstChild[node] = child;
+        } else {
+            nextSibling[prev] = child;
+        }
+    }
+
+    // Copies the characters of the term from the given index to the end of the arena and returns where they start.
+    private int append(CharSequence term, int from) {
+        int length = term.length() - from;
+        if (arenaSize + length > arena.length) {
+            arena = Arrays.copyOf(arena, Math.max(arenaSize + length, 2 * arena.length));
+        }
+        int start = arenaSize;
+        for (int i = from; i < term.length(); i += 1) {
+            arena[arenaSize] = term.charAt(i);
+            arenaSize += 1;
+        }
+        return start;
+    }
+
+    // Creates a node without children or siblings and returns its index.
+    private int newNode(int start, int length, boolean term) {
+        if (size == labelStart.length) {
+            int capacity = 2 * size;
+            labelStart = Arrays.copyOf(labelStart, capacity);
+            labelLength = Arrays.copyOf(labelLength, capacity);
+            firstChild = Arrays.copyOf(firstChild, capacity);
+            nextSibling = Arrays.copyOf(nextSibling, capacity);
+            isTerm = Arrays.copyOf(isTerm, capacity);
+        }
+        int node = size;
+        labelStart[node] = start;
+        labelLength[node] = length;
+        firstChild[node] = NONE;
+        nextSibling[node] = NONE;
+        isTerm[node] = term;
+        size += 1;
+        return node;
+    }
+
+    /**
+     * Iterator that finds each match in sorted order only when it is requested. The builder holds the term ending at
+     * the most recently visited node, and each stack entry pairs a node with the builder length before its label.
+     */
+    private class MatchIterator implements Iterator<CharSequence> {
+        private final StringBuilder term;
+        private int[] stack;
+        private int top;
+        private CharSequence next;
+
+        MatchIterator(int node, StringBuilder term) {
+            this.term = term;
+            stack = new int[2 * INITIAL_CAPACITY];
+            top = 0;
+            if (firstChild[node] != NONE) {
+                push(firstChild[node], term.length());
+            }
+            next = isTerm[node] ? term.toString() : advance();
+        }
+
+        @Override
+        public boolean hasNext() {
+            return next != null;
+        }
+
+        @Override
+        public CharSequence next() {
+            if (next == null) {
+                throw new NoSuchElementException();
+            }
+            CharSequence result = next;
+            next = advance();
+            return result;
+        }
+
+        // Returns the next match, or null if there are no more matches.
+        private CharSequence advance() {
+            while (top > 0) {
+                top -= 2;
+                int curr = stack[top];
+                int before = stack[top + 1];
+                term.setLength(before);
+                term.append(arena, labelStart[curr], labelLength[curr]);
+                // Push the next sibling below the first child so the whole subtree is visited before the sibling.
+                if (nextSibling[curr] != NONE) {
+                    push(nextSibling[curr], before);
+                }
+                if (firstChild[curr] != NONE) {
+                    push(firstChild[curr], term.length());
+                }
+                if (isTerm[curr]) {
+                    return term.toString();
+                }
+            }
+            return null;
+        }
+
+        private void push(int node, int length) {
+            if (top + 2 > stack.length) {
+                stack = Arrays.copyOf(stack, 2 * stack.length);
+            }
+            stack[top] = node;
+            stack[top + 1] = length;
+            top += 2;
+        }
+    }
+}
@@ -1,19 +1,28 @@
 package autocomplete;
 
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.Iterator;
 import java.util.List;
+import java.util.NoSuchElementException;
 
 /**
  * Ternary search tree (TST) implementation of the {@link Autocomplete} interface.
+ * <p>
+ * Every node also stores a term weight and the maximum weight in its subtree, which are always 0 here but let
+ * {@link WeightedTernarySearchTreeAutocomplete} share the tree, its traversals, and its match iterator.
  *
  * @see Autocomplete
+ * @see WeightedTernarySearchTreeAutocomplete
  */
 public class TernarySearchTreeAutocomplete implements Autocomplete {
     /**
      * The overall root of the tree: the first character of the first autocompletion term added to this tree.
      */
-    private Node overallRoot;
+    Node overallRoot;
 
     /**
      * Constructs an empty instance.
@@ -25,7 +34,7 @@ public class TernarySearchTreeAutocomplete implements Autocomplete {
     @Override
     public void addAll(Collection<? extends CharSequence> terms) {
         for (CharSequence term : terms) {
-            overallRoot = add(overallRoot, term, 0);
+            overallRoot = add(overallRoot, term, 0, 0);
         }
     }
 
@@ -46,6 +55,51 @@ public class TernarySearchTreeAutocomplete implements Autocomplete {
         return result;
     }
 
+    @Override
+    public Iterator<CharSequence> matchIterator(CharSequence prefix) {
+        if (prefix == null || prefix.length() == 0) {
+            return Collections.emptyIterator();
+        }
+        Node node = get(overallRoot, prefix, 0);
+        if (node == null) {
+            return Collections.emptyIterator();
+        }
+        return new MatchIterator(prefix, node);
+    }
+
+    @Override
+    public int countMatches(CharSequence prefix) {
+        if (prefix == null || prefix.length() == 0) {
+            return 0;
+        }
+        Node node = get(overallRoot, prefix, 0);
+        if (node == null) {
+            return 0;
+        }
+        // Count the terms below the prefix without building any of them.
+        int count = node.isTerm ? 1 : 0;
+        Deque<Node> stack = new ArrayDeque<>();
+        if (node.mid != null) {
+            stack.push(node.mid);
+        }
+        while (!stack.isEmpty()) {
+            Node curr = stack.pop();
+            if (curr.isTerm) {
+                count += 1;
+            }
+            if (curr.left != null) {
+                stack.push(curr.left);
+            }
+            if (curr.mid != null) {
+                stack.push(curr.mid);
+            }
+            if (curr.right != null) {
+                stack.push(curr.right);
+            }
+        }
+        return count;
+    }
+
     private void collect(Node node, StringBuilder prefix, List<CharSequence> list) {
         if (node == null) {
             return;
@@ -60,24 +114,37 @@ public class TernarySearchTreeAutocomplete implements Autocomplete {
         collect(node.right, prefix, list);
     }
 
-    private Node add(Node node, CharSequence key, int depth) {
+    // Adds the key with the given weight and recomputes the maximum weight of every subtree along the way.
+    Node add(Node node, CharSequence key, int depth, long weight) {
         char curr = key.charAt(depth);
         if (node == null) {
             node = new Node(curr, false);
         }
         if (curr < node.data) {
-            node.left = add(node.left, key, depth);
+            node.left = add(node.left, key, depth, weight);
         } else if (curr > node.data) {
-            node.right = add(node.right, key, depth);
+            node.right = add(node.right, key, depth, weight);
         } else if (depth < key.length() - 1) {
-            node.mid = add(node.mid, key, depth + 1);
+            node.mid = add(node.mid, key, depth + 1, weight);
         } else {
             node.isTerm = true;
+            node.weight = weight;
+        }
+        // Recompute rather than take the maximum with the new weight, since a replaced weight can be lower.
+        node.max = node.isTerm ? node.weight : Long.MIN_VALUE;
+        if (node.left != null) {
+            node.max = Math.max(node.max, node.left.max);
+        }
+        if (node.mid != null) {
+            node.max = Math.max(node.max, node.mid.max);
+        }
+        if (node.right != null) {
+            node.max = Math.max(node.max, node.right.max);
         }
         return node;
     }
 
-    private Node get(Node node, CharSequence key, int depth) {
+    Node get(Node node, CharSequence key, int depth) {
         if (node == null) {
             return null;
         }
@@ -100,12 +167,20 @@ public class TernarySearchTreeAutocomplete implements Autocomplete {
     /**
      * A search tree node representing a single character in an autocompletion term.
      */
-    private static class Node {
-        private char data;
-        private boolean isTerm;
-        private Node left;
-        private Node mid;
-        private Node right;
+    static class Node {
+        char data;
+        boolean isTerm;
+        /**
+         * The weight of the term ending at this node, if any.
+         */
+        long weight;
+        /**
+         * The maximum weight of any term in the subtree rooted at this node, including its left and right subtrees.
+         */
+        long max;
+        Node left;
+        Node mid;
+        Node right;
 
         public Node(char data, boolean isTerm) {
             this.data = data;
@@ -115,4 +190,82 @@ public class TernarySearchTreeAutocomplete implements Autocomplete {
             this.right = null;
         }
     }
+
+    /**
+     * Iterator that finds each match in sorted order only when it is requested, using an explicit stack in place of the
+     * recursion in {@code collect}.
+     */
+    private static class MatchIterator implements Iterator<CharSequence> {
+        /**
+         * Characters of the term being built. Each frame only relies on the characters before its depth.
+         */
+        private final StringBuilder term;
+        private final Deque<Frame> stack;
+        private CharSequence next;
+
+        MatchIterator(CharSequence prefix, Node node) {
+            term = new StringBuilder(prefix);
+            stack = new ArrayDeque<>();
+            push(node.mid, prefix.length(), false);
+            next = node.isTerm ? prefix : advance();
+        }
+
+        @Override
+        public boolean hasNext() {
+            return next != null;
+        }
+
+        @Override
+        public CharSequence next() {
+            if (next == null) {
+                throw new NoSuchElementException();
+            }
+            CharSequence result = next;
+            next = advance();
+            return result;
+        }
+
+        // Returns the next match, or null if there are no more matches.
+        private CharSequence advance() {
+            while (!stack.isEmpty()) {
+                Frame frame = stack.pop();
+                Node node = frame.node;
+                if (!frame.visit) {
+                    // Visit the left subtree, then the node itself and its middle subtree, then the right subtree.
+                    push(node.right, frame.depth, false);
+                    push(node, frame.depth, true);
+                    push(node.left, frame.depth, false);
+                } else {
+                    term.setLength(frame.depth);
+                    term.append(node.data);
+                    push(node.mid, frame.depth + 1, false);
+                    if (node.isTerm) {
+                        return term.toString();
+                    }
+                }
+            }
+            return null;
+        }
+
+        private void push(Node node, int depth, boolean visit) {
+            if (node != null) {
+                stack.push(new Frame(node, depth, visit));
+            }
+        }
+    }
+
+    /**
+     * A pending step of the {@link MatchIterator}: either a whole subtree to expand, or a single node to visit.
+     */
+    private static class Frame {
+        private final Node node;
+        private final int depth;
+        private final boolean visit;
+
+        Frame(Node node, int depth, boolean visit) {
+            this.node = node;
+            this.depth = depth;
+            this.visit = visit;
+        }
+    }
 }
@@ -1,6 +1,8 @@
 package autocomplete;
 
 import java.util.*;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * {@link TreeSet} implementation of the {@link Autocomplete} interface.
@@ -27,24 +29,33 @@ public class TreeSetAutocomplete implements Autocomplete {
 
     @Override
     public List<CharSequence> allMatches(CharSequence prefix) {
-        List<CharSequence> result = new ArrayList<>();
+        return matches(prefix).collect(Collectors.toList());
+    }
+
+    @Override
+    public Iterator<CharSequence> matchIterator(CharSequence prefix) {
+        return matches(prefix).iterator();
+    }
+
+    @Override
+    public Stream<CharSequence> matches(CharSequence prefix) {
         if (prefix == null || prefix.length() == 0) {
-            return result;
+            return Stream.empty();
         }
-        CharSequence start = terms.ceiling(prefix); // gives closest element that is greater
-        if (start == null) {
-            return result;
+        // All matches are consecutive in sorted order, starting from the first term that is not less than the prefix.
+        return terms.tailSet(prefix, true).stream().takeWhile(term -> isPrefixOf(prefix, term));
+    }
+
+    // Returns true if the term starts with the prefix, comparing characters in place.
+    private static boolean isPrefixOf(CharSequence prefix, CharSequence term) {
+        if (prefix.length() > term.length()) {
+            return false;
         }
-        for (CharSequence term : terms.tailSet(start)) { // adds all terms from treeset with prefix to arraylist
-            if (prefix.length() <= term.length()) {
-                CharSequence part = term.subSequence(0, prefix.length());
-                if (CharSequence.compare(prefix, part) == 0) {
-                    result.add(term);
-                } else {
-                    return result;
-                }
+        for (int i = 0; i < prefix.length(); i += 1) {
+            if (prefix.charAt(i) != term.charAt(i)) {
+                return false;
             }
         }
-        return result;
+        return true;
     }
 }
@@ -0,0 +1,31 @@
+package autocomplete;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * {@link Autocomplete} that also associates each term with a weight and can suggest only the heaviest prefix matches
+ * for a query {@link CharSequence}.
+ *
+ * @see Autocomplete
+ * @see WeightedTernarySearchTreeAutocomplete
+ */
+public interface WeightedAutocomplete extends Autocomplete {
+    /**
+     * Adds the given autocompletion terms with their weights. Adding a term that is already present replaces its
+     * weight.
+     *
+     * @param terms map from each term to be added to its weight.
+     */
+    void addAll(Map<? extends CharSequence, Long> terms);
+
+    /**
+     * Returns up to <i>k</i> autocompletion terms that match the given prefix, in descending order of weight. Terms
+     * with equal weights are returned in no particular order.
+     *
+     * @param prefix search query.
+     * @param k      the maximum number of terms to return.
+     * @throws IllegalArgumentException if k is negative.
+     */
+    List<CharSequence> topMatches(CharSequence prefix, int k);
+}
@@ -0,0 +1,121 @@
+package autocomplete;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+/**
+ * Ternary search tree (TST) implementation of the {@link WeightedAutocomplete} interface. Each node also stores the
+ * maximum weight of any term in its subtree, so {@link #topMatches(CharSequence, int)} can search best-first and only
+ * visit the subtrees that contain one of the <i>k</i> heaviest matches, rather than collecting every match. The tree,
+ * its unweighted queries, and its match iterator are inherited from {@link TernarySearchTreeAutocomplete}.
+ *
+ * @see WeightedAutocomplete
+ * @see TernarySearchTreeAutocomplete
+ */
+public class WeightedTernarySearchTreeAutocomplete extends TernarySearchTreeAutocomplete
+        implements WeightedAutocomplete {
+
+    /**
+     * Constructs an empty instance.
+     */
+    public WeightedTernarySearchTreeAutocomplete() {
+    }
+
+    /**
+     * {@inheritDoc} Terms that are not already present are added with weight 0, and terms that are already present
+     * keep their weight.
+     */
+    @Override
+    public void addAll(Collection<? extends CharSequence> terms) {
+        for (CharSequence term : terms) {
+            Node node = get(overallRoot, term, 0);
+            if (node == null || !node.isTerm) {
+                overallRoot = add(overallRoot, term, 0, 0);
+            }
+        }
+    }
+
+    @Override
+    public void addAll(Map<? extends CharSequence, Long> terms) {
+        for (Map.Entry<? extends CharSequence, Long> entry : terms.entrySet()) {
+            overallRoot = add(overallRoot, entry.getKey(), 0, entry.getValue());
+        }
+    }
+
+    @Override
+    public List<CharSequence> topMatches(CharSequence prefix, int k) {
+        if (k < 0) {
+            throw new IllegalArgumentException("k must be non-negative but was " + k);
+        }
+        List<CharSequence> result = new ArrayList<>();
+        if (prefix == null || prefix.length() == 0 || k == 0) {
+            return result;
+        }
+        Node node = get(overallRoot, prefix, 0);
+        if (node == null) {
+            return result;
+        }
+        // Candidates are either complete terms or subtrees standing for every term below them, ordered by the heaviest
+        // term they can produce. A subtree is only expanded once it is heavier than every remaining candidate, so the
+        // search visits the paths to the k heaviest matches and the siblings along them, and never the rest.
+        PriorityQueue<Candidate> candidates = new PriorityQueue<>();
+        String start = prefix.toString();
+        if (node.isTerm) {
+            candidates.add(new Candidate(start, node.weight, null));
+        }
+        if (node.mid != null) {
+            candidates.add(new Candidate(start, node.mid.max, node.mid));
+        }
+        while (!candidates.isEmpty() && result.size() < k) {
+            Candidate candidate = candidates.remove();
+            Node curr = candidate.node;
+            if (curr == null) {
+                result.add(candidate.term);
+                continue;
+            }
+            // For a subtree, candidate.term holds the characters before the subtree root.
+            if (curr.left != null) {
+                candidates.add(new Candidate(candidate.term, curr.left.max, curr.left));
+            }
+            if (curr.right != null) {
+                candidates.add(new Candidate(candidate.term, curr.right.max, curr.right));
+            }
+            String term = candidate.term + curr.data;
+            if (curr.isTerm) {
+                candidates.add(new Candidate(term, curr.weight, null));
+            }
+            if (curr.mid != null) {
+                candidates.add(new Candidate(term, curr.mid.max, curr.mid));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * A complete term, or a subtree together with the characters that precede it, in the best-first search.
+     */
+    private static class Candidate implements Comparable<Candidate> {
+        private final String term;
+        private final long weight;
+        private final Node node;
+
+        Candidate(String term, long weight, Node node) {
+            this.term = term;
+            this.weight = weight;
+            this.node = node;
+        }
+
+        @Override
+        public int compareTo(Candidate other) {
+            int cmp = Long.compare(other.weight, weight);
+            if (cmp != 0) {
+                return cmp;
+            }
+            // Among equal weights, prefer complete terms so the search can stop sooner.
+            return Boolean.compare(node != null, other.node != null);
+        }
+    }
+}
@@ -1,7 +1,7 @@
 package autocomplete.cities;
 
-import autocomplete.Autocomplete;
-import autocomplete.TreeSetAutocomplete;
+import autocomplete.WeightedAutocomplete;
+import autocomplete.WeightedTernarySearchTreeAutocomplete;
 
 import java.io.FileInputStream;
 import java.io.IOException;
@@ -26,14 +26,14 @@ class Cities {
     private static final String PATH = "data/cities.tsv.gz";
 
     public static void main(String[] args) throws IOException {
-        Map<String, Integer> cities = new LinkedHashMap<>();
+        Map<String, Long> cities = new LinkedHashMap<>();
         Scanner input = new Scanner(new GZIPInputStream(new FileInputStream(PATH)));
         for (int i = 0; i < MAX_CITIES && input.hasNextLine(); i += 1) {
             Scanner line = new Scanner(input.nextLine()).useDelimiter("\t");
-            cities.put(line.next(), line.nextInt());
+            cities.put(line.next(), line.nextLong());
         }
-        Autocomplete autocomplete = new TreeSetAutocomplete();
-        autocomplete.addAll(cities.keySet());
+        WeightedAutocomplete autocomplete = new WeightedTernarySearchTreeAutocomplete();
+        autocomplete.addAll(cities);
 
         Scanner stdin = new Scanner(System.in);
         System.out.print("Query: ");
@@ -42,11 +42,11 @@ class Cities {
             if (prefix.isEmpty()) {
                 System.exit(0);
             }
-            List<CharSequence> matches = autocomplete.allMatches(prefix);
-            System.out.println(matches.size() + " matches");
-            matches.sort(Comparator.comparingInt(cities::get).reversed());
-            for (int i = 0; i < Math.min(matches.size(), MAX_MATCHES); i += 1) {
-                System.out.println(matches.get(i));
+            System.out.println(autocomplete.countMatches(prefix) + " matches");
+            // Only the most populous matches are printed, so only those are computed. Unlike sorting every match,
+            // cities with equal populations are printed in no particular order rather than alphabetically.
+            for (CharSequence match : autocomplete.topMatches(prefix, MAX_MATCHES)) {
+                System.out.println(match);
             }
             System.out.println();
             System.out.print("Query: ");
@@ -54,7 +54,8 @@ class CitiesInputSizeExperiments {
                 "TreeSetAutocomplete", TreeSetAutocomplete::new,
                 "LinearSearchAutocomplete", SequentialSearchAutocomplete::new,
                 "BinarySearchAutocomplete", BinarySearchAutocomplete::new,
-                "TernarySearchTreeAutocomplete", TernarySearchTreeAutocomplete::new
+                "TernarySearchTreeAutocomplete", TernarySearchTreeAutocomplete::new,
+                "RadixTreeAutocomplete", RadixTreeAutocomplete::new
         );
         for (String name : implementations.keySet()) {
             System.out.println();
@@ -15,6 +15,8 @@ import java.util.zip.GZIPInputStream;
  * @see SequentialSearchAutocomplete
  * @see BinarySearchAutocomplete
  * @see TernarySearchTreeAutocomplete
+ * @see WeightedTernarySearchTreeAutocomplete
+ * @see RadixTreeAutocomplete
  */
 class CitiesMultiTest {
     /**
@@ -29,6 +31,10 @@ class CitiesMultiTest {
      * Path to the cities dataset.
      */
     private static final String PATH = "data/cities.tsv.gz";
+    /**
+     * Number of the most populous cities re-added with lower populations.
+     */
+    private static final int NUM_LOWERED = 1000;
 
     /**
      * Print up to the first {@code MAX_MATCHES} given matches.
@@ -40,15 +46,26 @@ class CitiesMultiTest {
         }
     }
 
+    /**
+     * Returns the population of each of the given cities, in the same order.
+     */
+    private static List<Long> populations(List<CharSequence> cities, Map<String, Long> populations) {
+        List<Long> result = new ArrayList<>(cities.size());
+        for (CharSequence city : cities) {
+            result.add(populations.get(city.toString()));
+        }
+        return result;
+    }
+
     public static void main(String[] args) throws IOException {
-        Set<String> unique = new HashSet<>(MAX_CITIES, 1.0f);
+        Map<String, Long> populations = new HashMap<>(MAX_CITIES, 1.0f);
         Scanner input = new Scanner(new GZIPInputStream(new FileInputStream(PATH)));
-        while (input.hasNextLine() && unique.size() < MAX_CITIES) {
+        while (input.hasNextLine() && populations.size() < MAX_CITIES) {
             Scanner line = new Scanner(input.nextLine()).useDelimiter("\t");
             String city = line.next();
-            // line.nextInt();
-            unique.add(city);
+            populations.putIfAbsent(city, line.nextLong());
         }
+        Set<String> unique = populations.keySet();
         System.out.println(unique.size() + " cities loaded");
 
         // Reference implementation.
@@ -56,15 +73,30 @@ class CitiesMultiTest {
         reference.addAll(unique);
 
         // Testing implementations.
+        WeightedAutocomplete weighted = new WeightedTernarySearchTreeAutocomplete();
         Map<String, Autocomplete> implementations = Map.of(
                 "LinearSearchAutocomplete", new SequentialSearchAutocomplete(),
                 "BinarySearchAutocomplete", new BinarySearchAutocomplete(),
-                "TernarySearchTreeAutocomplete", new TernarySearchTreeAutocomplete()
+                "TernarySearchTreeAutocomplete", new TernarySearchTreeAutocomplete(),
+                "WeightedTernarySearchTreeAutocomplete", weighted,
+                "RadixTreeAutocomplete", new RadixTreeAutocomplete()
         );
-        // Add cities to each testing implementation.
+        // Add cities to each testing implementation, weighting the weighted one by population.
         for (Autocomplete autocomplete : implementations.values()) {
-            autocomplete.addAll(unique);
+            if (autocomplete != weighted) {
+                autocomplete.addAll(unique);
+            }
         }
+        weighted.addAll(populations);
+
+        // Re-add the most populous cities with lower populations, so the maximum weight of their subtrees must drop.
+        Map<String, Long> lowered = new HashMap<>();
+        populations.entrySet().stream()
+                .sorted(Map.Entry.<String, Long>comparingByValue().reversed())
+                .limit(NUM_LOWERED)
+                .forEach(entry -> lowered.put(entry.getKey(), entry.getValue() / NUM_LOWERED));
+        weighted.addAll(lowered);
+        populations.putAll(lowered);
 
         Scanner stdin = new Scanner(System.in);
         System.out.print("Query: ");
@@ -91,6 +123,30 @@ class CitiesMultiTest {
                     System.out.println(name + " FAIL!");
                     printMatches(matches);
                 }
+
+                // The iterator should produce the same matches in the same order as allMatches, one at a time.
+                List<CharSequence> iterated = new ArrayList<>();
+                autocomplete.matchIterator(prefix).forEachRemaining(iterated::add);
+                if (iterated.equals(autocomplete.allMatches(prefix))
+                        && autocomplete.countMatches(prefix) == referenceMatches.size()) {
+                    System.out.println(name + " matchIterator() PASS!");
+                } else {
+                    System.out.println(name + " matchIterator() FAIL!");
+                }
+            }
+
+            // Check the most populous matches against the matches sorted by population. Cities with equal populations
+            // come back in no particular order, so only the sequence of populations is compared.
+            List<CharSequence> byPopulation = new ArrayList<>(referenceMatches);
+            byPopulation.sort(Comparator.comparing((CharSequence city) -> populations.get(city.toString())).reversed());
+            List<CharSequence> topMatches = weighted.topMatches(prefix, MAX_MATCHES);
+            List<Long> expected = populations(byPopulation.subList(0, Math.min(byPopulation.size(), MAX_MATCHES)),
+                    populations);
+            if (populations(topMatches, populations).equals(expected) && referenceMatches.containsAll(topMatches)) {
+                System.out.println("WeightedTernarySearchTreeAutocomplete topMatches() PASS!");
+            } else {
+                System.out.println("WeightedTernarySearchTreeAutocomplete topMatches() FAIL!");
+                printMatches(topMatches);
             }
             System.out.println();
             System.out.print("Query: ");
@@ -1,11 +1,9 @@
 package autocomplete.dna;
 
 import autocomplete.Autocomplete;
-import autocomplete.TreeSetAutocomplete;
 
 import java.io.FileInputStream;
 import java.io.IOException;
-import java.util.List;
 import java.util.Scanner;
 import java.util.zip.GZIPInputStream;
 
@@ -24,8 +22,7 @@ class DNA {
 
     public static void main(String[] args) throws IOException {
         String dna = new Scanner(new GZIPInputStream(new FileInputStream(PATH))).next();
-        Autocomplete autocomplete = new TreeSetAutocomplete();
-        autocomplete.addAll(new SuffixCollection(dna));
+        Autocomplete autocomplete = new FMIndexAutocomplete(dna);
 
         Scanner stdin = new Scanner(System.in);
         System.out.print("Query: ");
@@ -34,15 +31,14 @@ class DNA {
             if (prefix.isEmpty()) {
                 System.exit(0);
             }
-            List<CharSequence> matches = autocomplete.allMatches(prefix);
-            System.out.println(matches.size() + " matches");
-            for (int i = 0; i < Math.min(matches.size(), MAX_MATCHES); i += 1) {
-                CharSequence match = matches.get(i);
+            System.out.println(autocomplete.countMatches(prefix) + " matches");
+            // Only the printed matches are produced, rather than a list of every match.
+            autocomplete.matches(prefix).limit(MAX_MATCHES).forEach(match -> {
                 if (match.length() >= 97) {
                     match = match.subSequence(0, 97) + "...";
                 }
                 System.out.println(match);
-            }
+            });
             System.out.println();
             System.out.print("Query: ");
         }
@@ -0,0 +1,338 @@
+package autocomplete.dna;
+
+import autocomplete.Autocomplete;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * FM-index implementation of the {@link Autocomplete} interface whose autocompletion terms are every suffix of a DNA
+ * text over the alphabet {@code A}, {@code C}, {@code G}, {@code T}. The index stores the Burrows-Wheeler transform
+ * (BWT) of the text and a 2-bit packed copy of the text instead of a full suffix array, so it takes about 1 byte per
+ * base in total, compared to about 5 for {@link SuffixArrayAutocomplete}.
+ * <p>
+ * The BWT is packed 2 bits per symbol, with the number of occurrences of each symbol before every block of 64 symbols
+ * stored as a checkpoint, so counting occurrences before any position takes one checkpoint and at most two popcounts.
+ * {@link #count(CharSequence)} uses this to match the prefix backwards one character at a time, in time proportional to
+ * the length of the prefix regardless of the length of the text. Matches are located through a suffix array sampled at
+ * every text position divisible by {@code SAMPLE_RATE}, walking backwards through the BWT to the nearest sample.
+ *
+ * @see Autocomplete
+ * @see SuffixArrayAutocomplete
+ */
+public class FMIndexAutocomplete implements Autocomplete {
+    /**
+     * Symbols of the alphabet in sorted order, with their 2-bit codes as indices.
+     */
+    private static final String ALPHABET = "ACGT";
+    /**
+     * Each symbol code repeated across all 32 symbols of a word.
+     */
+    private static final long[] REPEATED = {0L, 0x5555555555555555L, 0xAAAAAAAAAAAAAAAAL, 0xFFFFFFFFFFFFFFFFL};
+    /**
+     * Low bit of every 2-bit symbol in a word.
+     */
+    private static final long LOW_BITS = 0x5555555555555555L;
+    /**
+     * Number of symbols per occurrence checkpoint, as a power of 2. Each checkpoint covers two words.
+     */
+    private static final int BLOCK_BITS = 6;
+    /**
+     * Suffix array entries are sampled at every text position divisible by this rate, so locating a match takes fewer
+     * than this many steps.
+     */
+    private static final int SAMPLE_RATE = 32;
+    /**
+     * The length of the text.
+     */
+    private final int n;
+    /**
+     * The text, packed 32 symbols per word with the first symbol in the lowest bits.
+     */
+    private final long[] text;
+    /**
+     * The BWT of the text followed by a sentinel smaller than every symbol, packed like the text. The sentinel is
+     * stored as {@code A} and is corrected for by position.
+     */
+    private final long[] bwt;
+    /**
+     * Position of the sentinel in the BWT: the rank of the suffix starting at text position 0.
+     */
+    private final int primary;
+    /**
+     * Number of occurrences of each symbol in the BWT before every block, 4 counts per block.
+     */
+    private final int[] checkpoints;
+    /**
+     * Rank of the first suffix starting with each symbol: 1 for the sentinel suffix plus the number of smaller symbols.
+     */
+    private final int[] firstRank;
+    /**
+     * Bit vector marking the ranks whose suffix array entries are sampled.
+     */
+    private final long[] sampled;
+    /**
+     * Number of sampled ranks before each word of the sampled bit vector.
+     */
+    private final int[] sampledBefore;
+    /**
+     * Sampled suffix array entries in order of rank.
+     */
+    private final int[] samples;
+
+    /**
+     * Constructs an instance whose autocompletion terms are all suffixes of the given DNA text.
+     *
+     * @param dna the text to index.
+     * @throws IllegalArgumentException if the text contains a character other than A, C, G, or T.
+     */
+    public FMIndexAutocomplete(CharSequence dna) {
+        n = dna.length();
+        text = new long[words(n)];
+        int[] counts = new int[ALPHABET.length()];
+        for (int i = 0; i < n; i += 1) {
+            int code = ALPHABET.indexOf(dna.charAt(i));
+            if (code < 0) {
+                throw new IllegalArgumentException("Unsupported character " + dna.charAt(i) + " at index " + i);
+            }
+            text[i >>> 5] |= (long) code << ((i & 31) << 1);
+            counts[code] += 1;
+        }
+        firstRank = new int[ALPHABET.length()];
+        int rank = 1;
+        for (int code = 0; code < counts.length; code += 1) {
+            firstRank[code] = rank;
+            rank += counts[code];
+        }
+
+        // The sentinel suffix sorts first, followed by the suffix array of the text.
+        int[] sa = SuffixArrays.suffixArray(dna);
+        bwt = new long[words(n + 1)];
+        checkpoints = new int[ALPHABET.length() * (((n + 1) >>> BLOCK_BITS) + 1)];
+        sampled = new long[(n + 64) >>> 6];
+        sampledBefore = new int[sampled.length];
+        samples = new int[(n + SAMPLE_RATE) / SAMPLE_RATE];
+        int[] occurrences = new int[ALPHABET.length()];
+        int numSamples = 0;
+        int sentinel = 0;
+        for (int i = 0; i <= n + 1; i += 1) {
+            if ((i & ((1 << BLOCK_BITS) - 1)) == 0) {
+                System.arraycopy(occurrences, 0, checkpoints, ALPHABET.length() * (i >>> BLOCK_BITS),
+                        ALPHABET.length());
+            }
+            if (i > n) {
+                // Only the checkpoint at the end of the BWT remains.
+                break;
+            }
+            int start = i == 0 ? n : sa[i - 1];
+            if (start == 0) {
+                sentinel = i;
+            } else {
+                int code = symbol(text, start - 1);
+                bwt[i >>> 5] |= (long) code << ((i & 31) << 1);
+                occurrences[code] += 1;
+            }
+            if (start % SAMPLE_RATE == 0) {
+                sampled[i >>> 6] |= 1L << i;
+                samples[numSamples] = start;
+                numSamples += 1;
+            }
+        }
+        primary = sentinel;
+        for (int i = 1; i < sampled.length; i += 1) {
+            sampledBefore[i] = sampledBefore[i - 1] + Long.bitCount(sampled[i - 1]);
+        }
+    }
+
+    /**
+     * Not supported, since the autocompletion terms are fixed by the text given at construction.
+     *
+     * @throws UnsupportedOperationException always.
+     */
+    @Override
+    public void addAll(Collection<? extends CharSequence> terms) {
+        throw new UnsupportedOperationException("Terms are the suffixes of the text given at construction");
+    }
+
+    @Override
+    public List<CharSequence> allMatches(CharSequence prefix) {
+        List<CharSequence> result = new ArrayList<>();
+        matchIterator(prefix).forEachRemaining(result::add);
+        return result;
+    }
+
+    @Override
+    public Iterator<CharSequence> matchIterator(CharSequence prefix) {
+        long range = search(prefix);
+        int start = (int) (range >>> 32);
+        int end = (int) range;
+        if (start >= end) {
+            return Collections.emptyIterator();
+        }
+        return new Iterator<>() {
+            private int rank = start;
+
+            @Override
+            public boolean hasNext() {
+                return rank < end;
+            }
+
+            @Override
+            public CharSequence next() {
+                if (rank >= end) {
+                    throw new NoSuchElementException();
+                }
+                CharSequence result = new Suffix(locate(rank), n);
+                rank += 1;
+                return result;
+            }
+        };
+    }
+
+    @Override
+    public int countMatches(CharSequence prefix) {
+        return count(prefix);
+    }
+
+    /**
+     * Returns the number of occurrences of the prefix in the text, which is the number of suffixes that match it, in
+     * time proportional to the length of the prefix. Like {@link #allMatches(CharSequence)}, returns 0 for a null or
+     * empty prefix.
+     *
+     * @param prefix search query.
+     * @return the number of suffixes of the text that start with the prefix.
+     */
+    public int count(CharSequence prefix) {
+        long range = search(prefix);
+        return Math.max((int) range - (int) (range >>> 32), 0);
+    }
+
+    // Returns the range of ranks [start, end) of the suffixes that start with the prefix, packed with start in the high
+    // 32 bits, by extending the match one character to the left at a time. The range is empty if start >= end.
+    private long search(CharSequence prefix) {
+        if (prefix == null || prefix.length() == 0) {
+            return 0;
+        }
+        int start = 0;
+        int end = n + 1;
+        for (int i = prefix.length() - 1; i >= 0 && start < end; i -= 1) {
+            int code = ALPHABET.indexOf(prefix.charAt(i));
+            if (code < 0) {
+                return 0;
+            }
+            start = firstRank[code] + occurrences(code, start);
+            end = firstRank[code] + occurrences(code, end);
+        }
+        return (long) start << 32 | end & 0xFFFFFFFFL;
+    }
+
+    // Returns the text position of the suffix at the given rank by stepping to the previous text position, whose rank
+    // is given by the LF mapping, until reaching a sampled rank.
+    private int locate(int rank) {
+        int steps = 0;
+        while ((sampled[rank >>> 6] & 1L << rank) == 0) {
+            int code = symbol(bwt, rank);
+            rank = firstRank[code] + occurrences(code, rank);
+            steps += 1;
+        }
+        int sample = sampledBefore[rank >>> 6] + Long.bitCount(sampled[rank >>> 6] & ((1L << rank) - 1));
+        return samples[sample] + steps;
+    }
+
+    // Returns the number of occurrences of the symbol code in the BWT before the given position.
+    private int occurrences(int code, int position) {
+        int block = position >>> BLOCK_BITS;
+        int count = checkpoints[ALPHABET.length() * block + code];
+        int word = block << 1;
+        int remaining = position & ((1 << BLOCK_BITS) - 1);
+        if (remaining >= 32) {
+            count += occurrencesInWord(bwt[word], code, 32);
+            word += 1;
+            remaining -= 32;
+        }
+        if (remaining > 0) {
+            count += occurrencesInWord(bwt[word], code, remaining);
+        }
+        // The sentinel is stored as the symbol with code 0, but only counted if it is within the partial block.
+        if (code == 0 && block << BLOCK_BITS <= primary && primary < position) {
+            count -= 1;
+        }
+        return count;
+    }
+
+    // Returns the number of occurrences of the symbol code among the first m symbols of the word.
+    private static int occurrencesInWord(long word, int code, int m) {
+        // Symbols equal to the code become 00, and every other symbol leaves a 1 in its low bit.
+        long differs = word ^ REPEATED[code];
+        differs = (differs | differs >>> 1) & LOW_BITS;
+        if (m < 32) {
+            differs &= (1L << (m << 1)) - 1;
+        }
+        return m - Long.bitCount(differs);
+    }
+
+    // Returns the symbol code at the given position of the packed array.
+    private static int symbol(long[] packed, int position) {
+        return (int) (packed[position >>> 5] >>> ((position & 31) << 1)) & 3;
+    }
+
+    // Returns the number of words needed to pack the given number of symbols.
+    private static int words(int symbols) {
+        return (symbols + 31) >>> 5;
+    }
+
+    /**
+     * A subsequence of the text between the given begin and end indices, decoded from the packed text on access.
+     */
+    private class Suffix implements CharSequence {
+        private final int begin;
+        private final int end;
+
+        /**
+         * Constructs a new subsequence of the text between the given begin and end indices.
+         *
+         * @param begin index into the text representing the start (inclusive).
+         * @param end   index into the text representing the end (exclusive).
+         */
+        Suffix(int begin, int end) {
+            this.begin = begin;
+            this.end = end;
+        }
+
+        @Override
+        public char charAt(int index) {
+            if (index < 0 || index >= length()) {
+                throw new IndexOutOfBoundsException("index " + index + ", length " + length());
+            }
+            return ALPHABET.charAt(symbol(text, begin + index));
+        }
+
+        @Override
+        public int length() {
+            return end - begin;
+        }
+
+        @Override
+        public CharSequence subSequence(int start, int stop) {
+            if (start < 0 || start > stop || stop > length()) {
+                throw new IndexOutOfBoundsException(
+                        "begin " + start + ", end " + stop + ", length " + length()
+                );
+            }
+            return new Suffix(begin + start, begin + stop);
+        }
+
+        @Override
+        public String toString() {
+            StringBuilder result = new StringBuilder(length());
+            for (int i = begin; i < end; i += 1) {
+                result.append(ALPHABET.charAt(symbol(text, i)));
+            }
+            return result.toString();
+        }
+    }
+}
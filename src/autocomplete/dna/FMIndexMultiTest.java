@@ -0,0 +1,179 @@
+package autocomplete.dna;
+
+import autocomplete.Autocomplete;
+import autocomplete.TreeSetAutocomplete;
+
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.util.*;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Compare the counts and located matches of {@link FMIndexAutocomplete} against a {@link TreeSetAutocomplete} of every
+ * suffix. Texts of every length up to a few blocks of 64 symbols are tested, so the end of the text, the sentinel, and
+ * the sampled suffix array entries fall on both sides of every occurrence checkpoint and packed word boundary.
+ *
+ * @see FMIndexAutocomplete
+ * @see TreeSetAutocomplete
+ */
+class FMIndexMultiTest {
+    /**
+     * Path to the DNA text.
+     */
+    private static final String PATH = "data/ecoli.txt.gz";
+    /**
+     * Number of characters of the DNA text to test.
+     */
+    private static final int DNA_LENGTH = 200000;
+    /**
+     * Seed for the random number generator, so failures are reproducible.
+     */
+    private static final long SEED = 373;
+    /**
+     * Symbols of the DNA alphabet.
+     */
+    private static final String ALPHABET = "ACGT";
+    /**
+     * Number of symbols per occurrence checkpoint in {@link FMIndexAutocomplete}.
+     */
+    private static final int BLOCK = 64;
+    /**
+     * Random texts of every length up to this many symbols are tested.
+     */
+    private static final int MAX_LENGTH = 4 * BLOCK + 1;
+    /**
+     * Maximum length of the random substrings queried as prefixes.
+     */
+    private static final int MAX_PREFIX_LENGTH = 12;
+    /**
+     * Number of random substrings queried for each text, in addition to every prefix of up to 3 symbols.
+     */
+    private static final int NUM_PREFIXES = 30;
+
+    public static void main(String[] args) throws IOException {
+        Random random = new Random(SEED);
+        List<String> texts = new ArrayList<>();
+        for (int length = 0; length <= MAX_LENGTH; length += 1) {
+            texts.add(randomText(random, length));
+        }
+        // Runs of one symbol put many occurrences of it on both sides of each checkpoint, including code 0, which the
+        // sentinel is stored as.
+        for (int length = BLOCK - 1; length <= 2 * BLOCK + 1; length += 1) {
+            texts.add("A".repeat(length));
+            texts.add("T".repeat(length));
+            texts.add("AC".repeat(length / 2) + "G");
+        }
+        String dna = new Scanner(new GZIPInputStream(new FileInputStream(PATH))).next();
+        texts.add(dna.substring(0, Math.min(DNA_LENGTH, dna.length())));
+        System.out.println(texts.size() + " texts generated");
+
+        boolean countPassed = true;
+        boolean locatePassed = true;
+        for (String text : texts) {
+            Autocomplete reference = new TreeSetAutocomplete();
+            reference.addAll(new SuffixCollection(text));
+            FMIndexAutocomplete index = new FMIndexAutocomplete(text);
+            for (String prefix : prefixes(text, random)) {
+                List<CharSequence> expected = reference.allMatches(prefix);
+                if (index.count(prefix) != expected.size() || index.countMatches(prefix) != expected.size()) {
+                    if (countPassed) {
+                        System.out.println("count() FAIL for " + prefix + " in " + describe(text));
+                    }
+                    countPassed = false;
+                }
+                if (!sameMatches(text, expected, index.allMatches(prefix))) {
+                    if (locatePassed) {
+                        System.out.println("allMatches() FAIL for " + prefix + " in " + describe(text));
+                    }
+                    locatePassed = false;
+                }
+            }
+        }
+
+        // Only DNA symbols can be packed into the index.
+        boolean rejectPassed = false;
+        try {
+            new FMIndexAutocomplete("ACGN");
+        } catch (IllegalArgumentException e) {
+            rejectPassed = true;
+        }
+
+        System.out.println("FMIndexAutocomplete count() " + (countPassed ? "PASS!" : "FAIL!"));
+        System.out.println("FMIndexAutocomplete allMatches() " + (locatePassed ? "PASS!" : "FAIL!"));
+        System.out.println("FMIndexAutocomplete constructor " + (rejectPassed ? "PASS!" : "FAIL!")
+                + " [non-DNA text]");
+    }
+
+    /**
+     * Returns true if the matches are the same suffixes in the same order as the expected matches. Every suffix has a
+     * different length, so each match is compared by its start index and, for short texts, by its characters.
+     *
+     * @param text     the indexed text.
+     * @param expected the matches returned by the reference.
+     * @param matches  the matches returned by the index.
+     * @return true if the matches are the same suffixes in the same order.
+     */
+    private static boolean sameMatches(String text, List<CharSequence> expected, List<CharSequence> matches) {
+        if (expected.size() != matches.size()) {
+            return false;
+        }
+        for (int i = 0; i < matches.size(); i += 1) {
+            CharSequence match = matches.get(i);
+            if (match.length() != expected.get(i).length()) {
+                return false;
+            }
+            if (text.length() <= MAX_LENGTH) {
+                String suffix = text.substring(text.length() - match.length());
+                if (!suffix.equals(match.toString())) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    // Returns every string of up to 3 symbols, then random substrings of the text, some with a changed last symbol.
+    private static List<String> prefixes(String text, Random random) {
+        List<String> result = new ArrayList<>();
+        for (int length = 1; length <= 3; length += 1) {
+            for (int code = 0; code < 1 << (2 * length); code += 1) {
+                StringBuilder prefix = new StringBuilder(length);
+                for (int i = 0; i < length; i += 1) {
+                    prefix.append(ALPHABET.charAt((code >>> (2 * i)) & 3));
+                }
+                result.add(prefix.toString());
+            }
+        }
+        if (text.isEmpty()) {
+            return result;
+        }
+        for (int i = 0; i < NUM_PREFIXES; i += 1) {
+            int begin = random.nextInt(text.length());
+            int end = Math.min(text.length(), begin + 1 + random.nextInt(MAX_PREFIX_LENGTH));
+            String prefix = text.substring(begin, end);
+            if (i % 5 == 0) {
+                prefix = prefix.substring(0, prefix.length() - 1) + ALPHABET.charAt(random.nextInt(ALPHABET.length()));
+            }
+            result.add(prefix);
+        }
+        result.add(text);
+        return result;
+    }
+
+    // Returns a DNA text of the given length with symbols chosen uniformly at random.
+    private static String randomText(Random random, int length) {
+        StringBuilder result = new StringBuilder(length);
+        for (int i = 0; i < length; i += 1) {
+            result.append(ALPHABET.charAt(random.nextInt(ALPHABET.length())));
+        }
+        return result.toString();
+    }
+
+    // Returns the text, or its length and start if it is too long to print.
+    private static String describe(String text) {
+        if (text.length() > 80) {
+            return "text of length " + text.length() + " starting " + text.substring(0, 20);
+        }
+        return "\"" + text + "\"";
+    }
+}
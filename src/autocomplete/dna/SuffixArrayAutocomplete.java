@@ -0,0 +1,147 @@
+package autocomplete.dna;
+
+import autocomplete.Autocomplete;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * Suffix array implementation of the {@link Autocomplete} interface whose autocompletion terms are every suffix of a
+ * text. The suffix array is a single {@code int[]} built in linear time by {@link SuffixArrays}, and each match is
+ * returned as a view of the text, so the index takes about 4 bytes per character on top of the text itself.
+ * <p>
+ * The suffixes that match a prefix are consecutive in the suffix array, so each query takes two binary searches. Each
+ * search remembers how many characters of the prefix match the suffixes at both ends of its range and skips that many
+ * when comparing, so long prefixes are not compared from the start on every step.
+ *
+ * @see Autocomplete
+ * @see SuffixCollection
+ */
+public class SuffixArrayAutocomplete implements Autocomplete {
+    /**
+     * The text whose suffixes are the autocompletion terms.
+     */
+    private final String text;
+    /**
+     * Views of the suffixes of the text.
+     */
+    private final SuffixCollection suffixes;
+    /**
+     * Start index of every suffix of the text in sorted order.
+     */
+    private final int[] sa;
+    /**
+     * The LCP array of the text, built on first use.
+     */
+    private int[] lcp;
+
+    /**
+     * Constructs an instance whose autocompletion terms are all suffixes of the given text.
+     *
+     * @param text the text to index.
+     */
+    public SuffixArrayAutocomplete(CharSequence text) {
+        this.text = text.toString();
+        this.suffixes = new SuffixCollection(this.text);
+        this.sa = SuffixArrays.suffixArray(this.text);
+    }
+
+    /**
+     * Not supported, since the autocompletion terms are fixed by the text given at construction.
+     *
+     * @throws UnsupportedOperationException always.
+     */
+    @Override
+    public void addAll(Collection<? extends CharSequence> terms) {
+        throw new UnsupportedOperationException("Terms are the suffixes of the text given at construction");
+    }
+
+    @Override
+    public List<CharSequence> allMatches(CharSequence prefix) {
+        return new ArrayList<>(matchRange(prefix));
+    }
+
+    @Override
+    public Iterator<CharSequence> matchIterator(CharSequence prefix) {
+        return matchRange(prefix).iterator();
+    }
+
+    @Override
+    public int countMatches(CharSequence prefix) {
+        return matchRange(prefix).size();
+    }
+
+    /**
+     * Returns the length of the longest common prefix of the suffix at the given rank in sorted order and the suffix
+     * before it, or 0 for the first suffix. The LCP array is only built, in linear time, on the first call.
+     *
+     * @param rank the rank of the suffix in sorted order.
+     * @return the length of the longest common prefix with the previous suffix in sorted order.
+     * @throws IndexOutOfBoundsException if the rank is negative or not less than the length of the text.
+     */
+    public int longestCommonPrefix(int rank) {
+        if (lcp == null) {
+            lcp = SuffixArrays.lcp(text, sa);
+        }
+        return lcp[rank];
+    }
+
+    // Returns a view of the matches in sorted order, found as the range of ranks whose suffixes start with the prefix.
+    private List<CharSequence> matchRange(CharSequence prefix) {
+        if (prefix == null || prefix.length() == 0) {
+            return List.of();
+        }
+        int start = bound(prefix, 0, false);
+        int end = bound(prefix, start, true);
+        return new AbstractList<>() {
+            @Override
+            public CharSequence get(int index) {
+                if (index < 0 || index >= end - start) {
+                    throw new IndexOutOfBoundsException("index " + index + ", size " + (end - start));
+                }
+                return suffixes.get(sa[start + index]);
+            }
+
+            @Override
+            public int size() {
+                return end - start;
+            }
+        };
+    }
+
+    // Returns the first rank from low onwards whose suffix is not less than the prefix or, if after is true, whose
+    // suffix neither is less than nor starts with the prefix.
+    private int bound(CharSequence prefix, int low, boolean after) {
+        int high = sa.length;
+        // Number of prefix characters matched by the suffixes just before low and at high.
+        int lowMatch = 0;
+        int highMatch = 0;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            // Every suffix between the two ends shares at least the smaller of their matches with the prefix.
+            int matched = match(prefix, sa[mid], Math.min(lowMatch, highMatch));
+            boolean less = matched < prefix.length() && (sa[mid] + matched == text.length()
+                    || text.charAt(sa[mid] + matched) < prefix.charAt(matched));
+            if (less || (after && matched == prefix.length())) {
+                low = mid + 1;
+                lowMatch = matched;
+            } else {
+                high = mid;
+                highMatch = matched;
+            }
+        }
+        return low;
+    }
+
+    // Returns the number of leading prefix characters that the suffix at start matches, given that the first skip do.
+    private int match(CharSequence prefix, int start, int skip) {
+        int i = skip;
+        while (i < prefix.length() && start + i < text.length() && text.charAt(start + i) == prefix.charAt(i)) {
+            i += 1;
+        }
+        return i;
+    }
+}
@@ -0,0 +1,233 @@
+package autocomplete.dna;
+
+import autocomplete.Autocomplete;
+import autocomplete.TreeSetAutocomplete;
+
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.util.*;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Compare the SA-IS suffix arrays and Kasai LCP arrays built by {@link SuffixArrays}, and the matches returned by
+ * {@link SuffixArrayAutocomplete}, against simple quadratic-time references on random, periodic, and real texts.
+ *
+ * @see SuffixArrays
+ * @see SuffixArrayAutocomplete
+ * @see TreeSetAutocomplete
+ */
+class SuffixArrayMultiTest {
+    /**
+     * Path to the DNA text.
+     */
+    private static final String PATH = "data/ecoli.txt.gz";
+    /**
+     * Number of characters of the DNA text to test, since the reference sort is not linear.
+     */
+    private static final int DNA_LENGTH = 100000;
+    /**
+     * Seed for the random number generator, so failures are reproducible.
+     */
+    private static final long SEED = 373;
+    /**
+     * Number of random texts for each alphabet.
+     */
+    private static final int NUM_TEXTS = 100;
+    /**
+     * Maximum length of each random text.
+     */
+    private static final int MAX_LENGTH = 300;
+    /**
+     * Number of prefixes queried for each text.
+     */
+    private static final int NUM_PREFIXES = 50;
+    /**
+     * Alphabets for the random texts, from the smallest to characters at both ends of the {@code char} range.
+     */
+    private static final String[] ALPHABETS = {"ab", "ACGT", "abcdefghijklmnopqrstuvwxyz", "\u0000a\uffff"};
+
+    public static void main(String[] args) throws IOException {
+        Random random = new Random(SEED);
+        List<String> texts = new ArrayList<>(List.of("", "a", "aa", "ab", "ba", "banana", "mississippi"));
+        // Periodic texts have many equal LMS substrings, so SA-IS has to recurse.
+        texts.add("a".repeat(MAX_LENGTH));
+        texts.add("ab".repeat(MAX_LENGTH / 2));
+        texts.add("aab".repeat(MAX_LENGTH / 3));
+        texts.add(fibonacci(MAX_LENGTH));
+        for (String alphabet : ALPHABETS) {
+            for (int i = 0; i < NUM_TEXTS; i += 1) {
+                texts.add(randomText(random, alphabet, random.nextInt(MAX_LENGTH + 1)));
+            }
+        }
+        String dna = new Scanner(new GZIPInputStream(new FileInputStream(PATH))).next();
+        texts.add(dna.substring(0, Math.min(DNA_LENGTH, dna.length())));
+        System.out.println(texts.size() + " texts generated");
+
+        boolean saPassed = true;
+        boolean lcpPassed = true;
+        boolean matchesPassed = true;
+        for (String text : texts) {
+            int[] sa = SuffixArrays.suffixArray(text);
+            int[] expected = referenceSuffixArray(text);
+            if (!Arrays.equals(sa, expected)) {
+                if (saPassed) {
+                    System.out.println("suffixArray() FAIL for " + describe(text));
+                }
+                saPassed = false;
+                // The LCP array and matches depend on a correct suffix array.
+                continue;
+            }
+            if (!Arrays.equals(SuffixArrays.lcp(text, sa), referenceLcp(text, sa))) {
+                if (lcpPassed) {
+                    System.out.println("lcp() FAIL for " + describe(text));
+                }
+                lcpPassed = false;
+            }
+            if (!sameMatches(text, random)) {
+                if (matchesPassed) {
+                    System.out.println("SuffixArrayAutocomplete FAIL for " + describe(text));
+                }
+                matchesPassed = false;
+            }
+        }
+        System.out.println("SuffixArrays.suffixArray() " + (saPassed ? "PASS!" : "FAIL!"));
+        System.out.println("SuffixArrays.lcp() " + (lcpPassed ? "PASS!" : "FAIL!"));
+        System.out.println("SuffixArrayAutocomplete " + (matchesPassed ? "PASS!" : "FAIL!"));
+    }
+
+    /**
+     * Returns true if {@link SuffixArrayAutocomplete} agrees with a {@link TreeSetAutocomplete} of every suffix on the
+     * matches, match iterator, and match count for each of the prefixes, and on the LCP of every rank.
+     *
+     * @param text   the text to index.
+     * @param random the random number generator for choosing prefixes.
+     * @return true if every query returns the same result as the reference.
+     */
+    private static boolean sameMatches(String text, Random random) {
+        Autocomplete reference = new TreeSetAutocomplete();
+        reference.addAll(new SuffixCollection(text));
+        SuffixArrayAutocomplete autocomplete = new SuffixArrayAutocomplete(text);
+        for (String prefix : prefixes(text, random)) {
+            List<Integer> expected = starts(text, reference.allMatches(prefix));
+            List<CharSequence> iterated = new ArrayList<>();
+            autocomplete.matchIterator(prefix).forEachRemaining(iterated::add);
+            if (!expected.equals(starts(text, autocomplete.allMatches(prefix)))
+                    || !expected.equals(starts(text, iterated))
+                    || autocomplete.countMatches(prefix) != expected.size()) {
+                return false;
+            }
+        }
+        int[] sa = referenceSuffixArray(text);
+        int[] lcp = referenceLcp(text, sa);
+        for (int rank = 0; rank < sa.length; rank += 1) {
+            if (autocomplete.longestCommonPrefix(rank) != lcp[rank]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // Returns substrings of the text and random strings over its characters, some long enough to match nothing.
+    private static List<String> prefixes(String text, Random random) {
+        List<String> result = new ArrayList<>();
+        if (text.isEmpty()) {
+            result.add("a");
+            return result;
+        }
+        for (int i = 0; i < NUM_PREFIXES; i += 1) {
+            int begin = random.nextInt(text.length());
+            int end = Math.min(text.length(), begin + 1 + random.nextInt(8));
+            String prefix = text.substring(begin, end);
+            if (i % 5 == 0) {
+                // Change the last character so the prefix may diverge from the text.
+                prefix = prefix.substring(0, prefix.length() - 1) + text.charAt(random.nextInt(text.length()));
+            }
+            result.add(prefix);
+        }
+        result.add(text);
+        result.add(text + text.charAt(0));
+        return result;
+    }
+
+    // Returns the suffix array of the text by sorting the suffix start indices with a character comparison.
+    private static int[] referenceSuffixArray(String text) {
+        Integer[] starts = new Integer[text.length()];
+        for (int i = 0; i < starts.length; i += 1) {
+            starts[i] = i;
+        }
+        Arrays.sort(starts, (a, b) -> {
+            int h = commonPrefix(text, a, b);
+            if (a + h == text.length() || b + h == text.length()) {
+                // The shorter suffix is a prefix of the longer one, so it sorts first.
+                return Integer.compare(text.length() - a, text.length() - b);
+            }
+            return Character.compare(text.charAt(a + h), text.charAt(b + h));
+        });
+        int[] result = new int[starts.length];
+        for (int i = 0; i < starts.length; i += 1) {
+            result[i] = starts[i];
+        }
+        return result;
+    }
+
+    // Returns the LCP array by comparing each suffix with the one before it from the start.
+    private static int[] referenceLcp(String text, int[] sa) {
+        int[] result = new int[sa.length];
+        for (int i = 1; i < sa.length; i += 1) {
+            result[i] = commonPrefix(text, sa[i - 1], sa[i]);
+        }
+        return result;
+    }
+
+    // Returns the length of the longest common prefix of the suffixes starting at a and b.
+    private static int commonPrefix(String text, int a, int b) {
+        int h = 0;
+        while (a + h < text.length() && b + h < text.length() && text.charAt(a + h) == text.charAt(b + h)) {
+            h += 1;
+        }
+        return h;
+    }
+
+    // Returns a prefix of the given length of the Fibonacci word, which is highly repetitive without being periodic.
+    private static String fibonacci(int length) {
+        String previous = "a";
+        String current = "ab";
+        while (current.length() < length) {
+            String next = current + previous;
+            previous = current;
+            current = next;
+        }
+        return current.substring(0, length);
+    }
+
+    // Returns a text of the given length with characters chosen uniformly from the alphabet.
+    private static String randomText(Random random, String alphabet, int length) {
+        StringBuilder result = new StringBuilder(length);
+        for (int i = 0; i < length; i += 1) {
+            result.append(alphabet.charAt(random.nextInt(alphabet.length())));
+        }
+        return result.toString();
+    }
+
+    // Returns the start index of each match, which identifies it since every suffix has a different length, or null if
+    // a match of a short text is not equal to the suffix at its start index.
+    private static List<Integer> starts(String text, List<CharSequence> matches) {
+        List<Integer> result = new ArrayList<>(matches.size());
+        for (CharSequence match : matches) {
+            int start = text.length() - match.length();
+            if (text.length() <= MAX_LENGTH && !text.substring(start).equals(match.toString())) {
+                return null;
+            }
+            result.add(start);
+        }
+        return result;
+    }
+
+    // Returns the text, or its length and start if it is too long to print.
+    private static String describe(String text) {
+        if (text.length() > 80) {
+            return "text of length " + text.length() + " starting " + text.substring(0, 20);
+        }
+        return "\"" + text + "\"";
+    }
+}
@@ -0,0 +1,227 @@
+package autocomplete.dna;
+
+import java.util.Arrays;
+
+/**
+ * Linear-time suffix array and longest common prefix (LCP) array construction.
+ * <p>
+ * Suffix arrays are built with the SA-IS algorithm (Nong, Zhang, and Chan, 2009): suffixes are classified as S-type or
+ * L-type, the leftmost S-type (LMS) substrings are sorted by induced sorting, and if any two are equal the problem is
+ * solved recursively on the string of their names, which is at most half as long. LCP arrays are built with Kasai's
+ * algorithm.
+ */
+class SuffixArrays {
+    private SuffixArrays() {
+    }
+
+    /**
+     * Returns the suffix array of the text: the start index of every suffix in sorted order.
+     *
+     * @param text the text whose suffixes to sort.
+     * @return the start indices of the suffixes of the text in sorted order.
+     */
+    static int[] suffixArray(CharSequence text) {
+        int n = text.length();
+        if (n == 0) {
+            return new int[0];
+        }
+        // Rename characters to 1, 2, ..., in order so the alphabet is as small as possible, and end with a unique 0.
+        int[] names = new int[Character.MAX_VALUE + 1];
+        for (int i = 0; i < n; i += 1) {
+            names[text.charAt(i)] = 1;
+        }
+        int k = 1;
+        for (int c = 0; c < names.length; c += 1) {
+            if (names[c] != 0) {
+                names[c] = k;
+                k += 1;
+            }
+        }
+        int[] s = new int[n + 1];
+        for (int i = 0; i < n; i += 1) {
+            s[i] = names[text.charAt(i)];
+        }
+        int[] sa = new int[n + 1];
+        sais(s, sa, n + 1, k);
+        // The sentinel suffix always sorts first.
+        return Arrays.copyOfRange(sa, 1, n + 1);
+    }
+
+    /**
+     * Returns the LCP array of the text: the length of the longest common prefix of each suffix in the suffix array and
+     * the suffix before it, or 0 for the first suffix.
+     *
+     * @param text the text.
+     * @param sa   the suffix array of the text.
+     * @return the LCP array, indexed by rank.
+     */
+    static int[] lcp(CharSequence text, int[] sa) {
+        int n = sa.length;
+        int[] rank = new int[n];
+        for (int i = 0; i < n; i += 1) {
+            rank[sa[i]] = i;
+        }
+        // Visiting suffixes in text order, each LCP is at most 1 less than the one before, so h only falls n times.
+        int[] lcp = new int[n];
+        int h = 0;
+        for (int i = 0; i < n; i += 1) {
+            if (rank[i] == 0) {
+                h = 0;
+                continue;
+            }
+            int j = sa[rank[i] - 1];
+            while (i + h < n && j + h < n && text.charAt(i + h) == text.charAt(j + h)) {
+                h += 1;
+            }
+            lcp[rank[i]] = h;
+            if (h > 0) {
+                h -= 1;
+            }
+        }
+        return lcp;
+    }
+
+    // Stores the suffix array of s[0, n) into sa[0, n). The characters of s are in [0, k), and s[n - 1] is a unique 0.
+    private static void sais(int[] s, int[] sa, int n, int k) {
+        // A suffix is S-type if it is smaller than the suffix after it, and L-type otherwise.
+        boolean[] stype = new boolean[n];
+        stype[n - 1] = true;
+        for (int i = n - 2; i >= 0; i -= 1) {
+            stype[i] = s[i] < s[i + 1] || (s[i] == s[i + 1] && stype[i + 1]);
+        }
+        int[] bucket = new int[k];
+
+        // Sort the LMS substrings by placing them at the ends of their buckets and inducing the rest.
+        bucketEnds(s, bucket, n, k);
+        Arrays.fill(sa, 0, n, -1);
+        for (int i = n - 1; i >= 1; i -= 1) {
+            if (isLms(stype, i)) {
+                bucket[s[i]] -= 1;
+                sa[bucket[s[i]]] = i;
+            }
+        }
+        induce(s, sa, stype, bucket, n, k);
+
+        // Move the sorted LMS positions to the front, then name each LMS substring by its rank among distinct ones.
+        int n1 = 0;
+        for (int i = 0; i < n; i += 1) {
+            if (isLms(stype, sa[i])) {
+                sa[n1] = sa[i];
+                n1 += 1;
+            }
+        }
+        Arrays.fill(sa, n1, n, -1);
+        int name = 0;
+        int prev = -1;
+        for (int i = 0; i < n1; i += 1) {
+            int pos = sa[i];
+            if (prev < 0 || !lmsEqual(s, stype, pos, prev)) {
+                name += 1;
+                prev = pos;
+            }
+            // LMS positions are at least 2 apart, so halving them gives distinct slots.
+            sa[n1 + pos / 2] = name - 1;
+        }
+        int[] s1 = new int[n1];
+        for (int i = n1, j = 0; i < n; i += 1) {
+            if (sa[i] >= 0) {
+                s1[j] = sa[i];
+                j += 1;
+            }
+        }
+
+        // Sort the LMS suffixes, recursing only if the names are not already distinct.
+        int[] sa1 = new int[n1];
+        if (name < n1) {
+            sais(s1, sa1, n1, name);
+        } else {
+            for (int i = 0; i < n1; i += 1) {
+                sa1[s1[i]] = i;
+            }
+        }
+        int[] lms = new int[n1];
+        for (int i = 1, j = 0; i < n; i += 1) {
+            if (isLms(stype, i)) {
+                lms[j] = i;
+                j += 1;
+            }
+        }
+
+        // Place the sorted LMS suffixes at the ends of their buckets and induce the order of every other suffix.
+        bucketEnds(s, bucket, n, k);
+        Arrays.fill(sa, 0, n, -1);
+        for (int i = n1 - 1; i >= 0; i -= 1) {
+            int pos = lms[sa1[i]];
+            bucket[s[pos]] -= 1;
+            sa[bucket[s[pos]]] = pos;
+        }
+        induce(s, sa, stype, bucket, n, k);
+    }
+
+    // Induces L-type suffixes left to right from bucket starts, then S-type suffixes right to left from bucket ends.
+    private static void induce(int[] s, int[] sa, boolean[] stype, int[] bucket, int n, int k) {
+        bucketStarts(s, bucket, n, k);
+        for (int i = 0; i < n; i += 1) {
+            int j = sa[i] - 1;
+            if (j >= 0 && !stype[j]) {
+                sa[bucket[s[j]]] = j;
+                bucket[s[j]] += 1;
+            }
+        }
+        bucketEnds(s, bucket, n, k);
+        for (int i = n - 1; i >= 0; i -= 1) {
+            int j = sa[i] - 1;
+            if (j >= 0 && stype[j]) {
+                bucket[s[j]] -= 1;
+                sa[bucket[s[j]]] = j;
+            }
+        }
+    }
+
+    // Returns true if the LMS substrings starting at a and b are equal in both characters and types.
+    private static boolean lmsEqual(int[] s, boolean[] stype, int a, int b) {
+        for (int d = 0; ; d += 1) {
+            if (s[a + d] != s[b + d] || stype[a + d] != stype[b + d]) {
+                return false;
+            }
+            // The substrings end at the next LMS position, and the unique sentinel is never matched past.
+            boolean aEnds = d > 0 && isLms(stype, a + d);
+            boolean bEnds = d > 0 && isLms(stype, b + d);
+            if (aEnds || bEnds) {
+                return aEnds && bEnds;
+            }
+        }
+    }
+
+    // Returns true if the suffix at i is S-type and the suffix before it is L-type.
+    private static boolean isLms(boolean[] stype, int i) {
+        return i > 0 && stype[i] && !stype[i - 1];
+    }
+
+    // Sets each bucket to the index of the first suffix starting with its character.
+    private static void bucketStarts(int[] s, int[] bucket, int n, int k) {
+        Arrays.fill(bucket, 0, k, 0);
+        for (int i = 0; i < n; i += 1) {
+            bucket[s[i]] += 1;
+        }
+        int sum = 0;
+        for (int c = 0; c < k; c += 1) {
+            int count = bucket[c];
+            bucket[c] = sum;
+            sum += count;
+        }
+    }
+
+    // Sets each bucket to 1 more than the index of the last suffix starting with its character.
+    private static void bucketEnds(int[] s, int[] bucket, int n, int k) {
+        Arrays.fill(bucket, 0, k, 0);
+        for (int i = 0; i < n; i += 1) {
+            bucket[s[i]] += 1;
+        }
+        int sum = 0;
+        for (int c = 0; c < k; c += 1) {
+            sum += bucket[c];
+            bucket[c] = sum;
+        }
+    }
+}
@@ -25,11 +25,27 @@ public class AStarSolver<V> {
      * @param goal  the goal vertex.
      */
     public AStarSolver(AStarGraph<V> graph, V start, V goal) {
+        this(graph, start, goal, new DoubleMapMinPQ<>());
+    }
+
+    /**
+     * Constructs a new instance by executing A* search on the graph from the start to the goal, using the given priority
+     * queue so that callers can choose or instrument it.
+     *
+     * @param graph the input graph.
+     * @param start the start vertex.
+     * @param goal  the goal vertex.
+     * @param pq    the empty priority queue to use for the search.
+     * @throws IllegalArgumentException if pq is not empty.
+     */
+    public AStarSolver(AStarGraph<V> graph, V start, V goal, ExtrinsicMinPQ<V> pq) {
+        if (!pq.isEmpty()) {
+            throw new IllegalArgumentException("Priority queue must be empty");
+        }
         this.edgeTo = new HashMap<>();
         this.distTo = new HashMap<>();
         this.start = start;
         this.goal = goal;
-        ExtrinsicMinPQ<V> pq = new DoubleMapMinPQ<>();
         pq.add(start, 0.0);
         edgeTo.put(start, null);
         distTo.put(start, 0.0);
@@ -22,9 +22,24 @@ public class DijkstraSolver<V> implements ShortestPathSolver<V> {
      * @param start the start vertex.
      */
     public DijkstraSolver(Graph<V> graph, V start) {
+        this(graph, start, new DoubleMapMinPQ<>());
+    }
+
+    /**
+     * Constructs a new instance by executing Dijkstra's algorithm on the graph from the start, using the given priority
+     * queue so that callers can choose or instrument it.
+     *
+     * @param graph the input graph.
+     * @param start the start vertex.
+     * @param pq    the empty priority queue to use for the search.
+     * @throws IllegalArgumentException if pq is not empty.
+     */
+    public DijkstraSolver(Graph<V> graph, V start, ExtrinsicMinPQ<V> pq) {
+        if (!pq.isEmpty()) {
+            throw new IllegalArgumentException("Priority queue must be empty");
+        }
         this.edgeTo = new HashMap<>();
         this.distTo = new HashMap<>();
-        ExtrinsicMinPQ<V> pq = new DoubleMapMinPQ<>();
         pq.add(start, 0.0);
         edgeTo.put(start, null);
         distTo.put(start, 0.0);
@@ -1,7 +1,7 @@
 package huskymaps;
 
-import autocomplete.Autocomplete;
-import autocomplete.TreeSetAutocomplete;
+import autocomplete.WeightedAutocomplete;
+import autocomplete.WeightedTernarySearchTreeAutocomplete;
 import graphs.AStarGraph;
 import graphs.Edge;
 import org.locationtech.spatial4j.context.SpatialContext;
@@ -32,8 +32,7 @@ public class MapGraph implements AStarGraph<Point> {
     private final SpatialContext context;
     private final Map<Point, Set<Edge<Point>>> neighbors;
     private final Map<String, List<Point>> locations;
-    private final Autocomplete autocomplete;
-    private final Map<CharSequence, Integer> importance;
+    private final WeightedAutocomplete autocomplete;
 
     /**
      * Constructs a new street map graph from the path to an OSM file and a places TSV.
@@ -70,19 +69,26 @@ public class MapGraph implements AStarGraph<Point> {
         SAXParser saxParser = SAXParserFactory.newInstance().newSAXParser();
         saxParser.parse(new GZIPInputStream(fileStream(osmPath)), handler);
 
-        // Add reachable locations to the Autocomplete engine.
         locations = handler.byName;
-        autocomplete = new TreeSetAutocomplete();
-        autocomplete.addAll(locations.keySet());
 
         // Parse the place-importance data.
-        importance = new HashMap<>();
+        Map<String, Integer> importance = new HashMap<>();
         try (Scanner input = new Scanner(new GZIPInputStream(fileStream(placesPath)))) {
             while (input.hasNextLine()) {
                 Scanner line = new Scanner(input.nextLine()).useDelimiter("\t");
                 importance.put(line.next(), line.nextInt());
             }
         }
+
+        // Add reachable locations to the Autocomplete engine, weighted so that lower importance values come first and
+        // locations without an importance value come last.
+        Map<String, Long> weights = new HashMap<>();
+        for (String name : locations.keySet()) {
+            Integer value = importance.get(name);
+            weights.put(name, value == null ? Long.MIN_VALUE : -(long) value);
+        }
+        autocomplete = new WeightedTernarySearchTreeAutocomplete();
+        autocomplete.addAll(weights);
     }
 
     /**
@@ -112,15 +118,15 @@ public class MapGraph implements AStarGraph<Point> {
     }
 
     /**
-     * Return the names of all locations that prefix-match the query string.
+     * Return the names of up to the given number of locations that prefix-match the query string, ordered by
+     * importance.
      *
-     * @param prefix prefix string that could be any case with or without punctuation.
+     * @param prefix     prefix string that could be any case with or without punctuation.
+     * @param maxMatches maximum number of location names to return.
      * @return a list of full names of locations matching the prefix.
      */
-    public List<CharSequence> getLocationsByPrefix(String prefix) {
-        List<CharSequence> result = autocomplete.allMatches(prefix);
-        result.sort(Comparator.comparingInt(importance::get));
-        return result;
+    public List<CharSequence> getLocationsByPrefix(String prefix, int maxMatches) {
+        return autocomplete.topMatches(prefix, maxMatches);
     }
 
     /**
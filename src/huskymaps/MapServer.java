@@ -118,12 +118,7 @@ public class MapServer {
             ctx.result(Base64.getEncoder().encode(os.toByteArray()));
         });
         app.get("/search", ctx -> {
-            List<CharSequence> result = map.getLocationsByPrefix(ctx.queryParam("term"));
-            if (result.size() > MAX_MATCHES) {
-                ctx.json(result.subList(0, MAX_MATCHES));
-            } else {
-                ctx.json(result);
-            }
+            ctx.json(map.getLocationsByPrefix(ctx.queryParam("term"), MAX_MATCHES));
         });
     }
 
@@ -0,0 +1,172 @@
+package minpq;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.BiConsumer;
+
+/**
+ * Capacity-bounded implementation of the {@link ExtrinsicMinPQ} interface that keeps only the items with the smallest
+ * priority values. Once the priority queue is full, adding an item evicts whichever of the new item and the current
+ * maximum-priority item has the larger priority value, so the size never exceeds the capacity.
+ * <p>
+ * Items are stored in a {@link DoubleEndedMinPQ} so that both the minimum and the eviction candidate can be found
+ * without scanning: by default a {@link MinMaxHeapMinPQ}, which removes either in O(log N) time, or any other
+ * double-ended priority queue supplied by the caller, such as a {@link BucketMinPQ} for bounded priority values.
+ * Evicted items are passed to an optional callback, e.g. to spill them to cold storage.
+ *
+ * @param <T> the type of elements in this priority queue.
+ * @see ExtrinsicMinPQ
+ */
+public class BoundedMinPQ<T> implements ExtrinsicMinPQ<T> {
+    /**
+     * The double-ended priority queue holding the retained items.
+     */
+    private final DoubleEndedMinPQ<T> pq;
+    /**
+     * The maximum number of items retained.
+     */
+    private final int capacity;
+    /**
+     * Callback accepting each evicted item and its priority value.
+     */
+    private final BiConsumer<? super T, Double> onEvict;
+    /**
+     * The number of items evicted so far.
+     */
+    private long evictionCount;
+
+    /**
+     * Constructs an empty instance backed by a min-max heap that discards evicted items.
+     *
+     * @param capacity the maximum number of items retained.
+     * @throws IllegalArgumentException if the capacity is not positive.
+     */
+    public BoundedMinPQ(int capacity) {
+        this(capacity, (item, priority) -> {
+        });
+    }
+
+    /**
+     * Constructs an empty instance backed by a min-max heap that passes evicted items to the given callback.
+     *
+     * @param capacity the maximum number of items retained.
+     * @param onEvict  the callback accepting each evicted item and its priority value.
+     * @throws IllegalArgumentException if the capacity is not positive or the callback is null.
+     */
+    public BoundedMinPQ(int capacity, BiConsumer<? super T, Double> onEvict) {
+        this(new MinMaxHeapMinPQ<>(), capacity, onEvict);
+    }
+
+    /**
+     * Constructs an instance that retains items in the given empty double-ended priority queue and passes evicted items
+     * to the given callback.
+     *
+     * @param pq       the empty double-ended priority queue that holds the retained items.
+     * @param capacity the maximum number of items retained.
+     * @param onEvict  the callback accepting each evicted item and its priority value.
+     * @throws IllegalArgumentException if the priority queue is null or not empty, the capacity is not positive, or the
+     *                                  callback is null.
+     */
+    public BoundedMinPQ(DoubleEndedMinPQ<T> pq, int capacity, BiConsumer<? super T, Double> onEvict) {
+        if (pq == null || !pq.isEmpty()) {
+            throw new IllegalArgumentException("Priority queue must be empty");
+        }
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Capacity must be positive but was " + capacity);
+        }
+        if (onEvict == null) {
+            throw new IllegalArgumentException("Null eviction callback");
+        }
+        this.pq = pq;
+        this.capacity = capacity;
+        this.onEvict = onEvict;
+    }
+
+    /**
+     * Adds an item with the given priority value. If the priority queue is full, either the new item or the current
+     * maximum-priority item is evicted, whichever has the larger priority value; ties evict the new item. If the
+     * wrapped priority queue rejects the new item, nothing is evicted.
+     *
+     * @param item     the element to add.
+     * @param priority the priority value for the item.
+     * @throws IllegalArgumentException if item is null or already present.
+     */
+    @Override
+    public void add(T item, double priority) {
+        if (item == null) {
+            throw new IllegalArgumentException("Null item");
+        }
+        if (contains(item)) {
+            throw new IllegalArgumentException("Already contains " + item);
+        }
+        if (pq.size() < capacity) {
+            pq.add(item, priority);
+            return;
+        }
+        double maxPriority = pq.peekMaxPriority();
+        if (priority >= maxPriority) {
+            evictionCount += 1;
+            onEvict.accept(item, priority);
+        } else {
+            // Add before evicting, so an item rejected by the wrapped priority queue leaves the current items in place.
+            pq.add(item, priority);
+            T evicted = pq.removeMax();
+            evictionCount += 1;
+            onEvict.accept(evicted, maxPriority);
+        }
+    }
+
+    @Override
+    public boolean contains(T item) {
+        return pq.contains(item);
+    }
+
+    @Override
+    public T peekMin() {
+        return pq.peekMin();
+    }
+
+    @Override
+    public List<T> peekMin(int k) {
+        return pq.peekMin(k);
+    }
+
+    @Override
+    public Iterator<T> snapshotIterator() {
+        return pq.snapshotIterator();
+    }
+
+    @Override
+    public T removeMin() {
+        return pq.removeMin();
+    }
+
+    @Override
+    public void changePriority(T item, double priority) {
+        pq.changePriority(item, priority);
+    }
+
+    @Override
+    public int size() {
+        return pq.size();
+    }
+
+    /**
+     * Returns the maximum number of items retained.
+     *
+     * @return the capacity of this priority queue.
+     */
+    public int capacity() {
+        return capacity;
+    }
+
+    /**
+     * Returns the number of items evicted so far, including new items that were rejected because the priority queue was
+     * full.
+     *
+     * @return the number of evicted items.
+     */
+    public long evictionCount() {
+        return evictionCount;
+    }
+}
@@ -0,0 +1,295 @@
+package minpq;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+/**
+ * Bucket queue implementation of the {@link DoubleEndedMinPQ} interface for priority values in a known, bounded range.
+ * The range is divided into equal-width buckets so {@code add} and {@code changePriority} run in constant time, while
+ * {@code removeMin} advances a cursor over empty buckets and scans the first occupied bucket for its minimum.
+ * {@code removeMax} does the same from the other end with a second cursor.
+ * <p>
+ * Choose the number of buckets so that each bucket holds only a few items: too few buckets make the scans long, while
+ * too many buckets make the cursor skip over many empty buckets.
+ *
+ * @param <T> the type of elements in this priority queue.
+ * @see DoubleEndedMinPQ
+ */
+public class BucketMinPQ<T> implements DoubleEndedMinPQ<T> {
+    /**
+     * The smallest priority value accepted by this priority queue.
+     */
+    private final double minPriority;
+    /**
+     * The largest priority value accepted by this priority queue.
+     */
+    private final double maxPriority;
+    /**
+     * Number of buckets per unit of priority.
+     */
+    private final double scale;
+    /**
+     * Buckets of entries, where bucket <i>i</i> holds entries whose priority values fall in the <i>i</i>-th interval.
+     */
+    private final List<Entry<T>>[] buckets;
+    /**
+     * {@link Map} of each item to its entry in the buckets.
+     */
+    private final Map<T, Entry<T>> itemToEntry;
+    /**
+     * Index of the lowest bucket that may be non-empty. All buckets below the cursor are empty.
+     */
+    private int cursor;
+    /**
+     * Index of the highest bucket that may be non-empty. All buckets above the top cursor are empty.
+     */
+    private int topCursor;
+
+    /**
+     * Constructs an empty instance accepting priority values in the given closed range.
+     *
+     * @param minPriority the smallest priority value.
+     * @param maxPriority the largest priority value.
+     * @param numBuckets  the number of buckets that divide the range.
+     * @throws IllegalArgumentException if the range is empty or not finite, or if numBuckets is not positive.
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public BucketMinPQ(double minPriority, double maxPriority, int numBuckets) {
+        if (!(minPriority < maxPriority) || Double.isInfinite(maxPriority - minPriority)) {
+            throw new IllegalArgumentException("Invalid range [" + minPriority + ", " + maxPriority + "]");
+        }
+        if (numBuckets <= 0) {
+            throw new IllegalArgumentException("Non-positive number of buckets " + numBuckets);
+        }
+        this.minPriority = minPriority;
+        this.maxPriority = maxPriority;
+        this.scale = numBuckets / (maxPriority - minPriority);
+        buckets = new List[numBuckets];
+        for (int i = 0; i < numBuckets; i += 1) {
+            buckets[i] = new ArrayList<>();
+        }
+        itemToEntry = new HashMap<>();
+        cursor = numBuckets;
+        topCursor = -1;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @throws IllegalArgumentException if item is null or already present, or if the priority value is out of range.
+     */
+    @Override
+    public void add(T item, double priority) {
+        if (item == null) {
+            throw new IllegalArgumentException("Null item");
+        }
+        if (contains(item)) {
+            throw new IllegalArgumentException("Already contains " + item);
+        }
+        Entry<T> entry = new Entry<>(item, priority);
+        entry.bucket = bucketOf(priority);
+        itemToEntry.put(item, entry);
+        insert(entry);
+    }
+
+    @Override
+    public boolean contains(T item) {
+        return itemToEntry.containsKey(item);
+    }
+
+    @Override
+    public T peekMin() {
+        if (isEmpty()) {
+            throw new NoSuchElementException("PQ is empty");
+        }
+        return minEntry().item;
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Walks the buckets in order from the cursor, copying and sorting each occupied bucket only when the iterator
+     * reaches it.
+     */
+    @Override
+    public Iterator<T> snapshotIterator() {
+        return new Iterator<>() {
+            private final List<Entry<T>> sorted = new ArrayList<>();
+            private int bucket = cursor;
+            private int index = 0;
+
+            @Override
+            public boolean hasNext() {
+                while (index == sorted.size() && bucket < buckets.length) {
+                    sorted.clear();
+                    sorted.addAll(buckets[bucket]);
+                    sorted.sort(Comparator.comparingDouble(entry -> entry.priority));
+                    bucket += 1;
+                    index = 0;
+                }
+                return index < sorted.size();
+            }
+
+            @Override
+            public T next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                T item = sorted.get(index).item;
+                index += 1;
+                return item;
+            }
+        };
+    }
+
+    @Override
+    public T removeMin() {
+        if (isEmpty()) {
+            throw new NoSuchElementException("PQ is empty");
+        }
+        Entry<T> min = minEntry();
+        remove(min);
+        itemToEntry.remove(min.item);
+        return min.item;
+    }
+
+    @Override
+    public T peekMax() {
+        if (isEmpty()) {
+            throw new NoSuchElementException("PQ is empty");
+        }
+        return maxEntry().item;
+    }
+
+    @Override
+    public double peekMaxPriority() {
+        if (isEmpty()) {
+            throw new NoSuchElementException("PQ is empty");
+        }
+        return maxEntry().priority;
+    }
+
+    @Override
+    public T removeMax() {
+        if (isEmpty()) {
+            throw new NoSuchElementException("PQ is empty");
+        }
+        Entry<T> max = maxEntry();
+        remove(max);
+        itemToEntry.remove(max.item);
+        return max.item;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @throws IllegalArgumentException if the priority value is out of range.
+     */
+    @Override
+    public void changePriority(T item, double priority) {
+        Entry<T> entry = itemToEntry.get(item);
+        if (entry == null) {
+            throw new NoSuchElementException("PQ does not contain " + item);
+        }
+        int bucket = bucketOf(priority);
+        entry.priority = priority;
+        if (bucket != entry.bucket) {
+            remove(entry);
+            entry.bucket = bucket;
+            insert(entry);
+        }
+    }
+
+    @Override
+    public int size() {
+        return itemToEntry.size();
+    }
+
+    // Returns the bucket index for the priority value, throwing an exception if it is out of range.
+    private int bucketOf(double priority) {
+        if (!(minPriority <= priority && priority <= maxPriority)) {
+            throw new IllegalArgumentException(
+                    "Priority " + priority + " out of range [" + minPriority + ", " + maxPriority + "]"
+            );
+        }
+        // The maximum priority value belongs to the last bucket rather than one past it.
+        return Math.min((int) ((priority - minPriority) * scale), buckets.length - 1);
+    }
+
+    // Appends the entry to the bucket given by its bucket field.
+    private void insert(Entry<T> entry) {
+        List<Entry<T>> bucket = buckets[entry.bucket];
+        entry.index = bucket.size();
+        bucket.add(entry);
+        if (entry.bucket < cursor) {
+            cursor = entry.bucket;
+        }
+        if (entry.bucket > topCursor) {
+            topCursor = entry.bucket;
+        }
+    }
+
+    // Removes the entry from its bucket by moving the bucket's last entry into its slot.
+    private void remove(Entry<T> entry) {
+        List<Entry<T>> bucket = buckets[entry.bucket];
+        Entry<T> moved = bucket.remove(bucket.size() - 1);
+        if (moved != entry) {
+            bucket.set(entry.index, moved);
+            moved.index = entry.index;
+        }
+    }
+
+    // Returns the entry with the minimum priority value after advancing the cursor to the first occupied bucket.
+    // Requires a non-empty priority queue.
+    private Entry<T> minEntry() {
+        while (buckets[cursor].isEmpty()) {
+            cursor += 1;
+        }
+        List<Entry<T>> bucket = buckets[cursor];
+        Entry<T> min = bucket.get(0);
+        for (int i = 1; i < bucket.size(); i += 1) {
+            if (bucket.get(i).priority < min.priority) {
+                min = bucket.get(i);
+            }
+        }
+        return min;
+    }
+
+    // Returns the entry with the maximum priority value after moving the top cursor down to the last occupied bucket.
+    // Requires a non-empty priority queue.
+    private Entry<T> maxEntry() {
+        while (buckets[topCursor].isEmpty()) {
+            topCursor -= 1;
+        }
+        List<Entry<T>> bucket = buckets[topCursor];
+        Entry<T> max = bucket.get(0);
+        for (int i = 1; i < bucket.size(); i += 1) {
+            if (bucket.get(i).priority > max.priority) {
+                max = bucket.get(i);
+            }
+        }
+        return max;
+    }
+
+    /**
+     * An item-priority pair along with its current location in the buckets.
+     *
+     * @param <T> the type of element represented by this entry.
+     */
+    private static class Entry<T> {
+        private final T item;
+        private double priority;
+        private int bucket;
+        private int index;
+
+        Entry(T item, double priority) {
+            this.item = item;
+            this.priority = priority;
+        }
+    }
+}
@@ -0,0 +1,262 @@
+package minpq;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.PriorityQueue;
+
+/**
+ * Struct-of-arrays binary heap implementation of the {@link ExtrinsicMinPQ} interface. Instead of one
+ * {@link PriorityNode} per entry as in {@link OptimizedHeapMinPQ}, priorities are kept in a contiguous {@code double[]}
+ * and items in a parallel {@code Object[]}, so comparisons during {@code swim} and {@code sink} read adjacent memory
+ * rather than chasing pointers.
+ * <p>
+ * Item positions are tracked by an open-addressing hash table with linear probing that is linked to the heap in both
+ * directions: each heap index records its table slot and each table slot records its heap index. Moving an entry in the
+ * heap therefore updates two {@code int} arrays and never rehashes the item. Items are placed by Fibonacci hashing
+ * rather than by the low bits of their hash codes, so keys with consecutive hash codes, such as small integers, do not
+ * form one long probe cluster.
+ *
+ * @param <T> the type of elements in this priority queue.
+ * @see ExtrinsicMinPQ
+ */
+public class CompactHeapMinPQ<T> implements ExtrinsicMinPQ<T> {
+    /**
+     * Initial heap capacity. The hash table starts with twice as many slots.
+     */
+    private static final int INITIAL_CAPACITY = 16;
+    /**
+     * Priority value of the entry at each heap index.
+     */
+    private double[] priorities;
+    /**
+     * Item of the entry at each heap index.
+     */
+    private Object[] items;
+    /**
+     * Hash table slot of the entry at each heap index.
+     */
+    private int[] heapToSlot;
+    /**
+     * Hash table of items, or null for empty slots. The length is always a power of 2.
+     */
+    private Object[] slots;
+    /**
+     * Heap index of the item in each hash table slot.
+     */
+    private int[] slotToHeap;
+    /**
+     * The number of elements in the heap.
+     */
+    private int size;
+
+    /**
+     * Constructs an empty instance.
+     */
+    public CompactHeapMinPQ() {
+        priorities = new double[INITIAL_CAPACITY];
+        items = new Object[INITIAL_CAPACITY];
+        heapToSlot = new int[INITIAL_CAPACITY];
+        slots = new Object[2 * INITIAL_CAPACITY];
+        slotToHeap = new int[2 * INITIAL_CAPACITY];
+    }
+
+    @Override
+    public void add(T item, double priority) {
+        if (item == null) {
+            throw new IllegalArgumentException("Null item");
+        }
+        int slot = find(item);
+        if (slot >= 0) {
+            throw new IllegalArgumentException("Already contains " + item);
+        }
+        if (size == items.length) {
+            // Keep the table at most half full so that probe sequences stay short.
+            grow();
+            slot = find(item);
+        }
+        slot = ~slot;
+        slots[slot] = item;
+        size += 1;
+        swim(size - 1, item, priority, slot);
+    }
+
+    @Override
+    public boolean contains(T item) {
+        return item != null && find(item) >= 0;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public T peekMin() {
+        if (isEmpty()) {
+            throw new NoSuchElementException("PQ is empty");
+        }
+        return (T) items[0];
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Walks the heap with a small auxiliary heap of frontier indices: each index is returned only after its parent, so
+     * the first <i>k</i> items cost O(k log k) time.
+     */
+    @Override
+    public Iterator<T> snapshotIterator() {
+        PriorityQueue<Integer> frontier = new PriorityQueue<>(Comparator.comparingDouble(index -> priorities[index]));
+        if (size > 0) {
+            frontier.add(0);
+        }
+        return new Iterator<>() {
+            @Override
+            public boolean hasNext() {
+                return !frontier.isEmpty();
+            }
+
+            @Override
+            @SuppressWarnings("unchecked")
+            public T next() {
+                if (frontier.isEmpty()) {
+                    throw new NoSuchElementException();
+                }
+                int index = frontier.remove();
+                for (int child = 2 * index + 1; child <= 2 * index + 2 && child < size; child += 1) {
+                    frontier.add(child);
+                }
+                return (T) items[index];
+            }
+        };
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public T removeMin() {
+        if (isEmpty()) {
+            throw new NoSuchElementException("PQ is empty");
+        }
+        T min = (T) items[0];
+        removeSlot(heapToSlot[0]);
+        size -= 1;
+        if (size > 0) {
+            sink(0, items[size], priorities[size], heapToSlot[size]);
+        }
+        items[size] = null;
+        return min;
+    }
+
+    @Override
+    public void changePriority(T item, double priority) {
+        int slot = item == null ? -1 : find(item);
+        if (slot < 0) {
+            throw new NoSuchElementException("PQ does not contain " + item);
+        }
+        int index = slotToHeap[slot];
+        double oldPriority = priorities[index];
+        if (priority < oldPriority) {
+            swim(index, item, priority, slot);
+        } else if (priority > oldPriority) {
+            sink(index, item, priority, slot);
+        }
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    // Returns the table slot in which to start probing for the item. Multiplying by the golden ratio and keeping the top
+    // bits spreads consecutive hash codes, such as those of small integers, across the table: otherwise they fill one
+    // long cluster that every removal from its front must scan to the end.
+    private int home(Object item) {
+        int h = item.hashCode() * 0x9E3779B9;
+        return h >>> Integer.numberOfLeadingZeros(slots.length - 1);
+    }
+
+    // Returns the table slot containing the item, or the bitwise complement of the empty slot where it would go.
+    private int find(Object item) {
+        int mask = slots.length - 1;
+        for (int slot = home(item); ; slot = (slot + 1) & mask) {
+            if (slots[slot] == null) {
+                return ~slot;
+            } else if (slots[slot].equals(item)) {
+                return slot;
+            }
+        }
+    }
+
+    // Empties the table slot, shifting later items in the probe sequence back so that lookups still find them.
+    private void removeSlot(int slot) {
+        int mask = slots.length - 1;
+        int next = slot;
+        while (true) {
+            next = (next + 1) & mask;
+            if (slots[next] == null) {
+                break;
+            }
+            int home = home(slots[next]);
+            // Move the item back unless its home slot lies cyclically within (slot, next].
+            boolean between = slot <= next ? slot < home && home <= next : slot < home || home <= next;
+            if (!between) {
+                slots[slot] = slots[next];
+                slotToHeap[slot] = slotToHeap[next];
+                heapToSlot[slotToHeap[slot]] = slot;
+                slot = next;
+            }
+        }
+        slots[slot] = null;
+    }
+
+    // Doubles the heap arrays and the hash table, reinserting every item into the new table.
+    private void grow() {
+        int capacity = 2 * items.length;
+        priorities = Arrays.copyOf(priorities, capacity);
+        items = Arrays.copyOf(items, capacity);
+        heapToSlot = new int[capacity];
+        slots = new Object[2 * capacity];
+        slotToHeap = new int[2 * capacity];
+        for (int i = 0; i < size; i += 1) {
+            int slot = ~find(items[i]);
+            slots[slot] = items[i];
+            slotToHeap[slot] = i;
+            heapToSlot[i] = slot;
+        }
+    }
+
+    // Writes the entry to the given heap index.
+    private void set(int index, Object item, double priority, int slot) {
+        priorities[index] = priority;
+        items[index] = item;
+        heapToSlot[index] = slot;
+        slotToHeap[slot] = index;
+    }
+
+    // Moves the entry up from the hole at the given index until the heap invariant is satisfied.
+    private void swim(int index, Object item, double priority, int slot) {
+        while (index > 0) {
+            int parent = (index - 1) >>> 1;
+            if (priorities[parent] <= priority) {
+                break;
+            }
+            set(index, items[parent], priorities[parent], heapToSlot[parent]);
+            index = parent;
+        }
+        set(index, item, priority, slot);
+    }
+
+    // Moves the entry down from the hole at the given index until the heap invariant is satisfied.
+    private void sink(int index, Object item, double priority, int slot) {
+        int child;
+        while ((child = 2 * index + 1) < size) {
+            if (child + 1 < size && priorities[child + 1] < priorities[child]) {
+                child += 1;
+            }
+            if (priority <= priorities[child]) {
+                break;
+            }
+            set(index, items[child], priorities[child], heapToSlot[child]);
+            index = child;
+        }
+        set(index, item, priority, slot);
+    }
+}
@@ -0,0 +1,39 @@
+package minpq;
+
+import java.util.NoSuchElementException;
+
+/**
+ * {@link ExtrinsicMinPQ} that also supports access to the item with the maximum priority value, so one priority queue
+ * can be drained from both ends instead of keeping two priority queues with mirrored priority values in sync.
+ *
+ * @param <T> the type of elements in this priority queue.
+ * @see MinMaxHeapMinPQ
+ * @see BucketMinPQ
+ * @see ExtrinsicMinPQ
+ */
+public interface DoubleEndedMinPQ<T> extends ExtrinsicMinPQ<T> {
+
+    /**
+     * Returns the item with the maximum priority value.
+     *
+     * @return the item with the maximum priority value.
+     * @throws NoSuchElementException if this priority queue is empty.
+     */
+    T peekMax();
+
+    /**
+     * Returns the maximum priority value, e.g. to decide whether a new item would displace the maximum-priority item.
+     *
+     * @return the maximum priority value.
+     * @throws NoSuchElementException if this priority queue is empty.
+     */
+    double peekMaxPriority();
+
+    /**
+     * Returns and removes the item with the maximum priority value.
+     *
+     * @return the item with the maximum priority value.
+     * @throws NoSuchElementException if this priority queue is empty.
+     */
+    T removeMax();
+}
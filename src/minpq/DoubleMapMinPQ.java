@@ -39,6 +39,25 @@ public class DoubleMapMinPQ<T> implements ExtrinsicMinPQ<T> {
         itemToPriority.put(item, priority);
     }
 
+    /**
+     * {@inheritDoc}
+     * <p>
+     * All items are checked before any are added, and each item is filed under its priority value with a single
+     * {@link TreeMap} lookup.
+     */
+    @Override
+    public void addAll(Map<? extends T, Double> items) {
+        for (T item : items.keySet()) {
+            if (item == null || contains(item)) {
+                throw new IllegalArgumentException("Already contains " + item);
+            }
+        }
+        for (Map.Entry<? extends T, Double> entry : items.entrySet()) {
+            priorityToItem.computeIfAbsent(entry.getValue(), priority -> new HashSet<>()).add(entry.getKey());
+        }
+        itemToPriority.putAll(items);
+    }
+
     @Override
     public boolean contains(T item) {
         return itemToPriority.containsKey(item);
@@ -54,6 +73,17 @@ public class DoubleMapMinPQ<T> implements ExtrinsicMinPQ<T> {
         return firstOf(itemsWithMinPriority);
     }
 
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Walks the {@link TreeMap} of priority values in order, so the first <i>k</i> items cost O(k + log N) time.
+     * Modifying this priority queue during iteration causes a {@link ConcurrentModificationException}.
+     */
+    @Override
+    public Iterator<T> snapshotIterator() {
+        return priorityToItem.values().stream().flatMap(Set::stream).iterator();
+    }
+
     @Override
     public T removeMin() {
         if (isEmpty()) {
@@ -70,6 +100,34 @@ public class DoubleMapMinPQ<T> implements ExtrinsicMinPQ<T> {
         return item;
     }
 
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Drains each set of items sharing the minimum priority value before looking up the next minimum priority value.
+     */
+    @Override
+    public int removeMin(int k, Collection<? super T> out) {
+        if (k < 0) {
+            throw new IllegalArgumentException("Negative k " + k);
+        }
+        int removed = 0;
+        while (removed < k && !isEmpty()) {
+            Map.Entry<Double, Set<T>> min = priorityToItem.firstEntry();
+            Iterator<T> itemsWithMinPriority = min.getValue().iterator();
+            while (removed < k && itemsWithMinPriority.hasNext()) {
+                T item = itemsWithMinPriority.next();
+                itemsWithMinPriority.remove();
+                itemToPriority.remove(item);
+                out.add(item);
+                removed += 1;
+            }
+            if (min.getValue().isEmpty()) {
+                priorityToItem.pollFirstEntry();
+            }
+        }
+        return removed;
+    }
+
     @Override
     public void changePriority(T item, double priority) {
         if (!contains(item)) {
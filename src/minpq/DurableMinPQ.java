@@ -0,0 +1,414 @@
+package minpq;
+
+import java.io.*;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedInputStream;
+import java.util.zip.CheckedOutputStream;
+
+/**
+ * Durable {@link ExtrinsicMinPQ} decorator that appends every change to a write-ahead log and periodically writes a
+ * compact snapshot of all item-priority pairs. On construction, the snapshot and the log records written after it are
+ * replayed and bulk-loaded into the wrapped priority queue, so recovery time depends on the length of the log since the
+ * last snapshot rather than on the full history.
+ * <p>
+ * Log records are forced to disk in groups: a change is durable once the group of {@value #DEFAULT_GROUP_COMMIT_SIZE}
+ * (by default) records it belongs to is complete, or after calling {@link #sync()} or {@link #close()}. Group commit has
+ * no time bound: up to one less than the group commit size (63 by default) changes stay in memory indefinitely if no
+ * further changes arrive, so call {@link #sync()} periodically to bound how much a crash can lose. A torn record at the
+ * end of the log after a crash is detected by its checksum and discarded.
+ *
+ * @param <T> the type of elements in this priority queue.
+ * @see ExtrinsicMinPQ
+ */
+public class DurableMinPQ<T> implements ExtrinsicMinPQ<T>, Closeable {
+    /**
+     * Default number of log records written between each force to disk.
+     */
+    public static final int DEFAULT_GROUP_COMMIT_SIZE = 64;
+    /**
+     * Default number of log records written between each snapshot.
+     */
+    public static final int DEFAULT_SNAPSHOT_INTERVAL = 100000;
+    /**
+     * Log record type for {@code add}.
+     */
+    private static final byte ADD = 1;
+    /**
+     * Log record type for {@code removeMin}.
+     */
+    private static final byte REMOVE = 2;
+    /**
+     * Log record type for {@code changePriority}.
+     */
+    private static final byte CHANGE = 3;
+    /**
+     * The wrapped priority queue.
+     */
+    private final ExtrinsicMinPQ<T> pq;
+    /**
+     * {@link Map} of items to their associated priority values, mirroring the wrapped priority queue for snapshots.
+     */
+    private final Map<T, Double> itemToPriority;
+    /**
+     * Converts items to the strings stored on disk.
+     */
+    private final Function<? super T, String> encoder;
+    /**
+     * Path to the write-ahead log.
+     */
+    private final Path logPath;
+    /**
+     * Path to the latest snapshot.
+     */
+    private final Path snapshotPath;
+    /**
+     * The directory holding the log and snapshot, forced to disk so that renaming a snapshot into it is durable.
+     */
+    private final Path directory;
+    /**
+     * Number of log records written between each force to disk.
+     */
+    private final int groupCommitSize;
+    /**
+     * Number of log records written between each snapshot.
+     */
+    private final int snapshotInterval;
+    /**
+     * Reusable buffer for encoding one log record before computing its checksum.
+     */
+    private final ByteArrayOutputStream recordBytes;
+    /**
+     * Reusable checksum for log records.
+     */
+    private final CRC32 crc;
+    /**
+     * Channel to the write-ahead log, used to force records to disk.
+     */
+    private final FileChannel logChannel;
+    /**
+     * Buffered output stream to the write-ahead log.
+     */
+    private final DataOutputStream log;
+    /**
+     * Sequence number of the last log record written.
+     */
+    private long sequence;
+    /**
+     * Number of log records written but not yet forced to disk.
+     */
+    private int unsynced;
+    /**
+     * Number of log records written since the last snapshot.
+     */
+    private int sinceSnapshot;
+
+    /**
+     * Constructs an instance that stores its log and snapshot in the given directory, recovering any existing contents
+     * into the given empty priority queue.
+     *
+     * @param pq        the empty priority queue to wrap.
+     * @param directory the directory for the log and snapshot files.
+     * @param encoder   converts items to strings.
+     * @param decoder   converts strings back to items.
+     * @throws IOException if the files cannot be read or created.
+     */
+    public DurableMinPQ(ExtrinsicMinPQ<T> pq, Path directory,
+                        Function<? super T, String> encoder, Function<String, ? extends T> decoder)
+            throws IOException {
+        this(pq, directory, encoder, decoder, DEFAULT_GROUP_COMMIT_SIZE, DEFAULT_SNAPSHOT_INTERVAL);
+    }
+
+    /**
+     * Constructs an instance that stores its log and snapshot in the given directory, recovering any existing contents
+     * into the given empty priority queue.
+     *
+     * @param pq               the empty priority queue to wrap.
+     * @param directory        the directory for the log and snapshot files.
+     * @param encoder          converts items to strings.
+     * @param decoder          converts strings back to items.
+     * @param groupCommitSize  the number of log records written between each force to disk.
+     * @param snapshotInterval the number of log records written between each snapshot.
+     * @throws IllegalArgumentException if the priority queue is not empty or either count is not positive.
+     * @throws IOException              if the files cannot be read or created.
+     */
+    public DurableMinPQ(ExtrinsicMinPQ<T> pq, Path directory,
+                        Function<? super T, String> encoder, Function<String, ? extends T> decoder,
+                        int groupCommitSize, int snapshotInterval) throws IOException {
+        if (!pq.isEmpty()) {
+            throw new IllegalArgumentException("PQ is not empty");
+        }
+        if (groupCommitSize <= 0 || snapshotInterval <= 0) {
+            throw new IllegalArgumentException("Non-positive group commit size or snapshot interval");
+        }
+        this.pq = pq;
+        this.itemToPriority = new HashMap<>();
+        this.encoder = encoder;
+        this.logPath = directory.resolve("minpq.log");
+        this.snapshotPath = directory.resolve("minpq.snapshot");
+        this.directory = directory;
+        this.groupCommitSize = groupCommitSize;
+        this.snapshotInterval = snapshotInterval;
+        this.recordBytes = new ByteArrayOutputStream();
+        this.crc = new CRC32();
+
+        // Recover the snapshot, then every complete log record written after it.
+        Files.createDirectories(directory);
+        long snapshotSequence = readSnapshot(decoder);
+        sequence = snapshotSequence;
+        long validLength = replayLog(decoder, snapshotSequence);
+        pq.addAll(itemToPriority);
+
+        logChannel = FileChannel.open(logPath, StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+        // Discard any torn record left at the end of the log by a crash.
+        logChannel.truncate(validLength);
+        logChannel.position(validLength);
+        log = new DataOutputStream(new BufferedOutputStream(Channels.newOutputStream(logChannel)));
+    }
+
+    @Override
+    public void add(T item, double priority) {
+        pq.add(item, priority);
+        itemToPriority.put(item, priority);
+        append(ADD, item, priority);
+    }
+
+    @Override
+    public boolean contains(T item) {
+        return pq.contains(item);
+    }
+
+    @Override
+    public T peekMin() {
+        return pq.peekMin();
+    }
+
+    @Override
+    public List<T> peekMin(int k) {
+        return pq.peekMin(k);
+    }
+
+    @Override
+    public Iterator<T> snapshotIterator() {
+        return pq.snapshotIterator();
+    }
+
+    @Override
+    public T removeMin() {
+        T item = pq.removeMin();
+        itemToPriority.remove(item);
+        append(REMOVE, item, 0.0);
+        return item;
+    }
+
+    @Override
+    public void changePriority(T item, double priority) {
+        pq.changePriority(item, priority);
+        itemToPriority.put(item, priority);
+        append(CHANGE, item, priority);
+    }
+
+    @Override
+    public int size() {
+        return pq.size();
+    }
+
+    /**
+     * Forces all log records written so far to disk.
+     *
+     * @throws UncheckedIOException if the log cannot be written.
+     */
+    public void sync() {
+        try {
+            log.flush();
+            logChannel.force(false);
+            unsynced = 0;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Writes a snapshot of all item-priority pairs and truncates the log. The snapshot is written to a temporary file
+     * and atomically moved into place, so a crash leaves either the old or the new snapshot intact. The directory is
+     * forced to disk after the move and before the log is truncated, so a crash can never leave the old snapshot next
+     * to a truncated log: recovery finds either the old snapshot and the full log, or the new snapshot and a log whose
+     * records it already contains.
+     *
+     * @throws UncheckedIOException if the snapshot or log cannot be written.
+     */
+    public void snapshot() {
+        sync();
+        Path temp = snapshotPath.resolveSibling(snapshotPath.getFileName() + ".tmp");
+        try {
+            CRC32 checksum = new CRC32();
+            try (FileOutputStream file = new FileOutputStream(temp.toFile());
+                 DataOutputStream out = new DataOutputStream(new CheckedOutputStream(
+                         new BufferedOutputStream(file), checksum))) {
+                out.writeLong(sequence);
+                out.writeInt(itemToPriority.size());
+                for (Map.Entry<T, Double> entry : itemToPriority.entrySet()) {
+                    writeString(out, encoder.apply(entry.getKey()));
+                    out.writeDouble(entry.getValue());
+                }
+                out.flush();
+                // The checksum itself is written directly to the file so that it is not included in the checksum.
+                new DataOutputStream(file).writeLong(checksum.getValue());
+                file.getFD().sync();
+            }
+            Files.move(temp, snapshotPath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            // The rename is only durable once the directory entry is, so force it before discarding the old records.
+            try (FileChannel dir = FileChannel.open(directory, StandardOpenOption.READ)) {
+                dir.force(true);
+            }
+            // Records up to the snapshot sequence number are skipped on recovery, so truncating after the move is safe.
+            logChannel.truncate(0);
+            logChannel.force(false);
+            sinceSnapshot = 0;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Forces all log records to disk and releases the log file.
+     *
+     * @throws IOException if the log cannot be written.
+     */
+    @Override
+    public void close() throws IOException {
+        log.flush();
+        logChannel.force(false);
+        log.close();
+    }
+
+    // Encodes a log record with its checksum, then forces the log or writes a snapshot if either is due.
+    private void append(byte type, T item, double priority) {
+        try {
+            sequence += 1;
+            recordBytes.reset();
+            DataOutputStream record = new DataOutputStream(recordBytes);
+            record.writeLong(sequence);
+            record.writeByte(type);
+            writeString(record, encoder.apply(item));
+            record.writeDouble(priority);
+            crc.reset();
+            crc.update(recordBytes.toByteArray());
+            recordBytes.writeTo(log);
+            log.writeLong(crc.getValue());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        unsynced += 1;
+        sinceSnapshot += 1;
+        if (sinceSnapshot >= snapshotInterval) {
+            snapshot();
+        } else if (unsynced >= groupCommitSize) {
+            sync();
+        }
+    }
+
+    // Loads the snapshot into itemToPriority and returns its sequence number, or 0 if there is no valid snapshot.
+    private long readSnapshot(Function<String, ? extends T> decoder) throws IOException {
+        if (!Files.exists(snapshotPath)) {
+            return 0;
+        }
+        long fileSize = Files.size(snapshotPath);
+        CRC32 checksum = new CRC32();
+        try (InputStream file = new BufferedInputStream(Files.newInputStream(snapshotPath))) {
+            DataInputStream in = new DataInputStream(new CheckedInputStream(file, checksum));
+            long snapshotSequence = in.readLong();
+            int size = in.readInt();
+            for (int i = 0; i < size; i += 1) {
+                T item = decoder.apply(readString(in, fileSize));
+                itemToPriority.put(item, in.readDouble());
+            }
+            if (new DataInputStream(file).readLong() != checksum.getValue()) {
+                throw new IOException("Corrupt snapshot " + snapshotPath);
+            }
+            return snapshotSequence;
+        }
+    }
+
+    // Applies every complete log record after the snapshot sequence number to itemToPriority and returns the length of
+    // the valid prefix of the log.
+    private long replayLog(Function<String, ? extends T> decoder, long snapshotSequence) throws IOException {
+        if (!Files.exists(logPath)) {
+            return 0;
+        }
+        long fileSize = Files.size(logPath);
+        long validLength = 0;
+        CRC32 checksum = new CRC32();
+        try (InputStream file = new BufferedInputStream(Files.newInputStream(logPath))) {
+            CheckedInputStream checked = new CheckedInputStream(file, checksum);
+            DataInputStream in = new DataInputStream(checked);
+            while (true) {
+                checksum.reset();
+                long recordSequence;
+                byte type;
+                String item;
+                double priority;
+                int length;
+                try {
+                    recordSequence = in.readLong();
+                    type = in.readByte();
+                    byte[] bytes = readBytes(in, fileSize);
+                    item = new String(bytes, StandardCharsets.UTF_8);
+                    priority = in.readDouble();
+                    long expected = checksum.getValue();
+                    if (new DataInputStream(file).readLong() != expected) {
+                        break;
+                    }
+                    length = Long.BYTES + 1 + Integer.BYTES + bytes.length + Double.BYTES + Long.BYTES;
+                } catch (EOFException e) {
+                    break;
+                }
+                validLength += length;
+                sequence = Math.max(sequence, recordSequence);
+                if (recordSequence <= snapshotSequence) {
+                    continue;
+                }
+                if (type == REMOVE) {
+                    itemToPriority.remove(decoder.apply(item));
+                } else {
+                    itemToPriority.put(decoder.apply(item), priority);
+                }
+            }
+        }
+        return validLength;
+    }
+
+    // Writes the string as a length-prefixed UTF-8 byte sequence.
+    private static void writeString(DataOutputStream out, String s) throws IOException {
+        byte[] bytes = s.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    // Reads a length-prefixed UTF-8 string.
+    private static String readString(DataInputStream in, long maxLength) throws IOException {
+        return new String(readBytes(in, maxLength), StandardCharsets.UTF_8);
+    }
+
+    // Reads a length-prefixed byte sequence, treating a length outside [0, maxLength] as a torn record.
+    private static byte[] readBytes(DataInputStream in, long maxLength) throws IOException {
+        int length = in.readInt();
+        if (length < 0 || length > maxLength) {
+            throw new EOFException("Invalid length " + length);
+        }
+        byte[] bytes = new byte[length];
+        in.readFully(bytes);
+        return bytes;
+    }
+}
@@ -1,5 +1,11 @@
 package minpq;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
 /**
  * Priority queue where objects have <b>extrinsic priority</b>. While {@link java.util.PriorityQueue} relies on objects'
  * {@link Comparable} (or a {@link java.util.Comparator} object), this interface requires priority values represented as
@@ -10,6 +16,20 @@ package minpq;
  * @see UnsortedArrayMinPQ
  * @see HeapMinPQ
  * @see OptimizedHeapMinPQ
+ * @see IndexedDaryHeapMinPQ
+ * @see PairingHeapMinPQ
+ * @see RadixHeapMinPQ
+ * @see BucketMinPQ
+ * @see MultiQueueMinPQ
+ * @see DurableMinPQ
+ * @see MappedMinPQ
+ * @see LazyDeletionHeapMinPQ
+ * @see CompactHeapMinPQ
+ * @see MergeableMinPQ
+ * @see BoundedMinPQ
+ * @see DoubleEndedMinPQ
+ * @see InstrumentedMinPQ
+ * @see LongExtrinsicMinPQ
  */
 public interface ExtrinsicMinPQ<T> {
 
@@ -38,6 +58,38 @@ public interface ExtrinsicMinPQ<T> {
      */
     T peekMin();
 
+    /**
+     * Returns up to <i>k</i> items in order of increasing priority value without removing them.
+     *
+     * @param k the maximum number of items to return.
+     * @return {@link List} of the items with the <i>k</i> smallest priority values, in order of increasing priority
+     * value, which is shorter than <i>k</i> only if this priority queue has fewer than <i>k</i> items.
+     * @throws IllegalArgumentException if k is negative.
+     * @see #snapshotIterator()
+     */
+    default List<T> peekMin(int k) {
+        if (k < 0) {
+            throw new IllegalArgumentException("Negative k " + k);
+        }
+        List<T> result = new ArrayList<>(Math.min(k, size()));
+        Iterator<T> it = snapshotIterator();
+        while (result.size() < k && it.hasNext()) {
+            result.add(it.next());
+        }
+        return result;
+    }
+
+    /**
+     * Returns an iterator over the items in order of increasing priority value that does not modify this priority
+     * queue. The behavior of the iterator is unspecified if this priority queue is modified during iteration.
+     * <p>
+     * Priority values cannot be read through this interface, so there is no default implementation: each
+     * implementation either walks its own structure in order or copies its item-priority pairs into a sorted structure.
+     *
+     * @return an iterator over the items in order of increasing priority value.
+     */
+    Iterator<T> snapshotIterator();
+
     /**
      * Returns and removes the item with the minimum priority value.
      *
@@ -55,6 +107,49 @@ public interface ExtrinsicMinPQ<T> {
      */
     void changePriority(T item, double priority);
 
+    /**
+     * Adds all the given items with their associated priority values.
+     *
+     * @param items {@link Map} of elements to add to their priority values.
+     * @throws IllegalArgumentException if any item is null or already present.
+     */
+    default void addAll(Map<? extends T, Double> items) {
+        for (Map.Entry<? extends T, Double> entry : items.entrySet()) {
+            add(entry.getKey(), entry.getValue());
+        }
+    }
+
+    /**
+     * Removes up to <i>k</i> items in order of increasing priority value and appends them to the given collection.
+     *
+     * @param k   the maximum number of items to remove.
+     * @param out the destination collection.
+     * @return the number of items removed, which is less than <i>k</i> only if this priority queue became empty.
+     * @throws IllegalArgumentException if k is negative.
+     */
+    default int removeMin(int k, Collection<? super T> out) {
+        if (k < 0) {
+            throw new IllegalArgumentException("Negative k " + k);
+        }
+        int removed = 0;
+        for (; removed < k && !isEmpty(); removed += 1) {
+            out.add(removeMin());
+        }
+        return removed;
+    }
+
+    /**
+     * Updates the associated priority values of all the given items.
+     *
+     * @param priorities {@link Map} of elements whose priority values should be modified to their updated values.
+     * @throws java.util.NoSuchElementException if any item is not present.
+     */
+    default void changePriorities(Map<? extends T, Double> priorities) {
+        for (Map.Entry<? extends T, Double> entry : priorities.entrySet()) {
+            changePriority(entry.getKey(), entry.getValue());
+        }
+    }
+
     /**
      * Returns the number of items in this priority queue.
      *
@@ -0,0 +1,180 @@
+package minpq;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * Binary heap implementation of the {@link HandleMinPQ} interface. Each handle records its own index in the heap, so
+ * swapping two entries updates two fields rather than a {@link java.util.Map} as in {@link OptimizedHeapMinPQ}, and
+ * changing or removing an item never hashes it.
+ *
+ * @param <T> the type of elements in this priority queue.
+ * @see HandleMinPQ
+ */
+public class HandleHeapMinPQ<T> implements HandleMinPQ<T> {
+    /**
+     * {@link List} of {@link Node} objects representing the heap of item-priority pairs.
+     */
+    private final List<Node<T>> nodes;
+
+    /**
+     * Constructs an empty instance.
+     */
+    public HandleHeapMinPQ() {
+        nodes = new ArrayList<>();
+    }
+
+    @Override
+    public Handle<T> add(T item, double priority) {
+        if (item == null) {
+            throw new IllegalArgumentException("Null item");
+        }
+        Node<T> node = new Node<>(item, priority, nodes.size());
+        nodes.add(node);
+        swim(node.index);
+        return node;
+    }
+
+    @Override
+    public boolean contains(Handle<T> handle) {
+        if (!(handle instanceof Node)) {
+            return false;
+        }
+        int index = ((Node<T>) handle).index;
+        // A handle belongs to this heap only if the heap still holds that exact node at the recorded index.
+        return 0 <= index && index < nodes.size() && nodes.get(index) == handle;
+    }
+
+    @Override
+    public T peekMin() {
+        if (isEmpty()) {
+            throw new NoSuchElementException("PQ is empty");
+        }
+        return nodes.get(0).item;
+    }
+
+    @Override
+    public T removeMin() {
+        if (isEmpty()) {
+            throw new NoSuchElementException("PQ is empty");
+        }
+        T min = nodes.get(0).item;
+        removeAt(0);
+        return min;
+    }
+
+    @Override
+    public double priorityOf(Handle<T> handle) {
+        return checked(handle).priority;
+    }
+
+    @Override
+    public void changePriority(Handle<T> handle, double priority) {
+        Node<T> node = checked(handle);
+        double oldPriority = node.priority;
+        node.priority = priority;
+        if (priority < oldPriority) {
+            swim(node.index);
+        } else if (priority > oldPriority) {
+            sink(node.index);
+        }
+    }
+
+    @Override
+    public void remove(Handle<T> handle) {
+        removeAt(checked(handle).index);
+    }
+
+    @Override
+    public int size() {
+        return nodes.size();
+    }
+
+    // Returns the handle as a node, throwing an exception if it does not refer to an item in this heap.
+    private Node<T> checked(Handle<T> handle) {
+        if (!contains(handle)) {
+            throw new NoSuchElementException("PQ does not contain " + (handle == null ? null : handle.item()));
+        }
+        return (Node<T>) handle;
+    }
+
+    // Removes the node at the given index by moving the last node into its place and restoring the heap invariant.
+    private void removeAt(int index) {
+        Node<T> removed = nodes.get(index);
+        int last = nodes.size() - 1;
+        swap(index, last);
+        nodes.remove(last);
+        removed.index = -1;
+        if (index < last) {
+            swim(index);
+            sink(index);
+        }
+    }
+
+    // Swim the node at the given index until the heap invariant is satisfied.
+    private void swim(int index) {
+        while (index > 0) {
+            int parentIndex = (index - 1) / 2;
+            if (nodes.get(parentIndex).priority <= nodes.get(index).priority) {
+                return;
+            }
+            swap(parentIndex, index);
+            index = parentIndex;
+        }
+    }
+
+    // Sink the node at the given index until the heap invariant is satisfied.
+    private void sink(int index) {
+        int size = nodes.size();
+        while (2 * index + 1 < size) {
+            // Assign the smaller of the children as the swap candidate.
+            int swapCandidate = 2 * index + 1;
+            if (swapCandidate + 1 < size && nodes.get(swapCandidate + 1).priority < nodes.get(swapCandidate).priority) {
+                swapCandidate += 1;
+            }
+            if (nodes.get(index).priority <= nodes.get(swapCandidate).priority) {
+                return;
+            }
+            swap(index, swapCandidate);
+            index = swapCandidate;
+        }
+    }
+
+    // Swaps the nodes at the given indices i and j and updates their recorded indices.
+    private void swap(int i, int j) {
+        Node<T> a = nodes.get(i);
+        Node<T> b = nodes.get(j);
+        nodes.set(i, b);
+        nodes.set(j, a);
+        a.index = j;
+        b.index = i;
+    }
+
+    /**
+     * An item-priority pair that serves as its own handle by recording its current index in the heap.
+     *
+     * @param <T> the type of element represented by this node.
+     */
+    private static class Node<T> implements Handle<T> {
+        private final T item;
+        private double priority;
+        private int index;
+
+        Node(T item, double priority, int index) {
+            this.item = item;
+            this.priority = priority;
+            this.index = index;
+        }
+
+        @Override
+        public T item() {
+            return item;
+        }
+
+        @Override
+        public String toString() {
+            return item + " (" + priority + ')';
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package minpq;
+
+/**
+ * Priority queue where objects have <b>extrinsic priority</b> and are identified by the {@link Handle} returned when
+ * they are added. Unlike {@link ExtrinsicMinPQ}, changing or removing an item goes through its handle, so
+ * implementations never need to hash or search for the item itself. Can contain duplicate items but not null items.
+ *
+ * @param <T> the type of elements in this priority queue.
+ * @see HandleHeapMinPQ
+ * @see ExtrinsicMinPQ
+ */
+public interface HandleMinPQ<T> {
+
+    /**
+     * Adds an item with the given priority value and returns a handle to it.
+     *
+     * @param item     the element to add.
+     * @param priority the priority value for the item.
+     * @return a handle to the added item, valid until the item is removed.
+     * @throws IllegalArgumentException if item is null.
+     */
+    Handle<T> add(T item, double priority);
+
+    /**
+     * Returns true if the given handle refers to an item in this priority queue.
+     *
+     * @param handle handle to be checked for containment.
+     * @return true if the given handle refers to an item in this priority queue.
+     */
+    boolean contains(Handle<T> handle);
+
+    /**
+     * Returns the item with the minimum priority value.
+     *
+     * @return the item with the minimum priority value.
+     * @throws java.util.NoSuchElementException if this priority queue is empty.
+     */
+    T peekMin();
+
+    /**
+     * Returns and removes the item with the minimum priority value.
+     *
+     * @return the item with the minimum priority value.
+     * @throws java.util.NoSuchElementException if this priority queue is empty.
+     */
+    T removeMin();
+
+    /**
+     * Returns the priority value associated with the handle's item.
+     *
+     * @param handle the handle whose priority value should be returned.
+     * @return the priority value associated with the handle's item.
+     * @throws java.util.NoSuchElementException if the handle does not refer to an item in this priority queue.
+     */
+    double priorityOf(Handle<T> handle);
+
+    /**
+     * Updates the priority value associated with the handle's item.
+     *
+     * @param handle   the handle whose associated priority value should be modified.
+     * @param priority the updated priority value.
+     * @throws java.util.NoSuchElementException if the handle does not refer to an item in this priority queue.
+     */
+    void changePriority(Handle<T> handle, double priority);
+
+    /**
+     * Removes the handle's item from this priority queue.
+     *
+     * @param handle the handle whose item should be removed.
+     * @throws java.util.NoSuchElementException if the handle does not refer to an item in this priority queue.
+     */
+    void remove(Handle<T> handle);
+
+    /**
+     * Returns the number of items in this priority queue.
+     *
+     * @return the number of elements in this priority queue.
+     */
+    int size();
+
+    /**
+     * Returns true if this priority queue contains no items.
+     *
+     * @return true if this priority queue contains no items.
+     */
+    default boolean isEmpty() {
+        return size() == 0;
+    }
+
+    /**
+     * Reference to an item in a {@link HandleMinPQ}.
+     *
+     * @param <T> the type of element referenced by this handle.
+     */
+    interface Handle<T> {
+        /**
+         * Returns the item.
+         *
+         * @return the item.
+         */
+        T item();
+    }
+}
@@ -1,6 +1,7 @@
 package minpq;
 
 import java.util.Comparator;
+import java.util.Iterator;
 import java.util.NoSuchElementException;
 import java.util.PriorityQueue;
 
@@ -34,7 +35,7 @@ public class HeapMinPQ<T> implements ExtrinsicMinPQ<T> {
     @Override
     public boolean contains(T item) {
         for (PriorityNode node : pq) {
-            if (node.item() == item) {
+            if (node.item().equals(item)) {
                 return true;
             }
         }
@@ -49,6 +50,31 @@ public class HeapMinPQ<T> implements ExtrinsicMinPQ<T> {
         return pq.peek().item();
     }
 
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Copies the {@link PriorityQueue} in linear time when the iterator is created, then removes from the copy, so the
+     * first <i>k</i> items cost O(N + k log N) time.
+     */
+    @Override
+    public Iterator<T> snapshotIterator() {
+        PriorityQueue<PriorityNode<T>> copy = new PriorityQueue<>(pq);
+        return new Iterator<>() {
+            @Override
+            public boolean hasNext() {
+                return !copy.isEmpty();
+            }
+
+            @Override
+            public T next() {
+                if (copy.isEmpty()) {
+                    throw new NoSuchElementException();
+                }
+                return copy.remove().item();
+            }
+        };
+    }
+
     @Override
     public T removeMin() {
         if (isEmpty()) {
@@ -0,0 +1,292 @@
+package minpq;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.PriorityQueue;
+
+/**
+ * Indexed <i>d</i>-ary heap implementation of the {@link ExtrinsicMinPQ} interface for dense integer keys in the range
+ * [0, <i>capacity</i>). Priorities are stored in a {@code double[]} indexed by key and heap positions in an
+ * {@code int[]}, so the primitive {@code int} methods never box or hash and never allocate after construction.
+ *
+ * @see ExtrinsicMinPQ
+ */
+public class IndexedDaryHeapMinPQ implements ExtrinsicMinPQ<Integer> {
+    /**
+     * Default number of children per heap node.
+     */
+    private static final int DEFAULT_ARITY = 4;
+    /**
+     * Base-2 logarithm of the number of children per heap node.
+     */
+    private final int shift;
+    /**
+     * Priority value of each key, indexed by key.
+     */
+    private final double[] priorities;
+    /**
+     * The heap of keys: {@code heap[i]} is the key stored at heap position {@code i}.
+     */
+    private final int[] heap;
+    /**
+     * Heap position of each key, indexed by key, or -1 if the key is not present.
+     */
+    private final int[] positions;
+    /**
+     * The number of elements in the heap.
+     */
+    private int size;
+
+    /**
+     * Constructs an empty 4-ary heap for keys in the range [0, capacity).
+     *
+     * @param capacity the number of distinct keys.
+     */
+    public IndexedDaryHeapMinPQ(int capacity) {
+        this(capacity, DEFAULT_ARITY);
+    }
+
+    /**
+     * Constructs an empty heap with the given arity for keys in the range [0, capacity).
+     *
+     * @param capacity the number of distinct keys.
+     * @param arity    the number of children per heap node: 2, 4, or 8.
+     * @throws IllegalArgumentException if capacity is negative or arity is not 2, 4, or 8.
+     */
+    public IndexedDaryHeapMinPQ(int capacity, int arity) {
+        if (capacity < 0) {
+            throw new IllegalArgumentException("Negative capacity " + capacity);
+        }
+        if (arity != 2 && arity != 4 && arity != 8) {
+            throw new IllegalArgumentException("Arity must be 2, 4, or 8 but was " + arity);
+        }
+        shift = Integer.numberOfTrailingZeros(arity);
+        priorities = new double[capacity];
+        heap = new int[capacity];
+        positions = new int[capacity];
+        Arrays.fill(positions, -1);
+    }
+
+    @Override
+    public void add(Integer item, double priority) {
+        if (item == null) {
+            throw new IllegalArgumentException("Null item");
+        }
+        add(item.intValue(), priority);
+    }
+
+    /**
+     * Adds a key with the given priority value.
+     *
+     * @param key      the key to add.
+     * @param priority the priority value for the key.
+     * @throws IllegalArgumentException if key is out of range or already present.
+     */
+    public void add(int key, double priority) {
+        checkKey(key);
+        if (positions[key] >= 0) {
+            throw new IllegalArgumentException("Already contains " + key);
+        }
+        priorities[key] = priority;
+        size += 1;
+        swim(key, size - 1);
+    }
+
+    @Override
+    public boolean contains(Integer item) {
+        return item != null && contains(item.intValue());
+    }
+
+    /**
+     * Returns true if the given key is in this priority queue.
+     *
+     * @param key key to be checked for containment.
+     * @return true if the given key is in this priority queue.
+     */
+    public boolean contains(int key) {
+        return 0 <= key && key < positions.length && positions[key] >= 0;
+    }
+
+    @Override
+    public Integer peekMin() {
+        return peekMinKey();
+    }
+
+    /**
+     * Returns the key with the minimum priority value.
+     *
+     * @return the key with the minimum priority value.
+     * @throws NoSuchElementException if this priority queue is empty.
+     */
+    public int peekMinKey() {
+        if (isEmpty()) {
+            throw new NoSuchElementException("PQ is empty");
+        }
+        return heap[0];
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Walks the heap with a small auxiliary heap of frontier positions: each position is returned only after its parent,
+     * so the first <i>k</i> keys cost O(dk log dk) time.
+     */
+    @Override
+    public Iterator<Integer> snapshotIterator() {
+        PriorityQueue<Integer> frontier = new PriorityQueue<>(
+                Comparator.comparingDouble(index -> priorities[heap[index]])
+        );
+        if (size > 0) {
+            frontier.add(0);
+        }
+        return new Iterator<>() {
+            @Override
+            public boolean hasNext() {
+                return !frontier.isEmpty();
+            }
+
+            @Override
+            public Integer next() {
+                if (frontier.isEmpty()) {
+                    throw new NoSuchElementException();
+                }
+                int index = frontier.remove();
+                int firstChild = (index << shift) + 1;
+                int lastChild = Math.min(firstChild + (1 << shift), size);
+                for (int child = firstChild; child < lastChild; child += 1) {
+                    frontier.add(child);
+                }
+                return heap[index];
+            }
+        };
+    }
+
+    @Override
+    public Integer removeMin() {
+        return removeMinKey();
+    }
+
+    /**
+     * Returns and removes the key with the minimum priority value.
+     *
+     * @return the key with the minimum priority value.
+     * @throws NoSuchElementException if this priority queue is empty.
+     */
+    public int removeMinKey() {
+        if (isEmpty()) {
+            throw new NoSuchElementException("PQ is empty");
+        }
+        int min = heap[0];
+        positions[min] = -1;
+        size -= 1;
+        if (size > 0) {
+            sink(heap[size], 0);
+        }
+        return min;
+    }
+
+    @Override
+    public void changePriority(Integer item, double priority) {
+        if (item == null) {
+            throw new NoSuchElementException("PQ does not contain null");
+        }
+        changePriority(item.intValue(), priority);
+    }
+
+    /**
+     * Updates the given key's associated priority value.
+     *
+     * @param key      the key whose associated priority value should be modified.
+     * @param priority the updated priority value.
+     * @throws NoSuchElementException if the key is not present.
+     */
+    public void changePriority(int key, double priority) {
+        if (!contains(key)) {
+            throw new NoSuchElementException("PQ does not contain " + key);
+        }
+        double oldPriority = priorities[key];
+        priorities[key] = priority;
+        if (priority < oldPriority) {
+            swim(key, positions[key]);
+        } else if (priority > oldPriority) {
+            sink(key, positions[key]);
+        }
+    }
+
+    /**
+     * Returns the priority value associated with the given key.
+     *
+     * @param key the key whose priority value should be returned.
+     * @return the priority value associated with the key.
+     * @throws NoSuchElementException if the key is not present.
+     */
+    public double priority(int key) {
+        if (!contains(key)) {
+            throw new NoSuchElementException("PQ does not contain " + key);
+        }
+        return priorities[key];
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    // Throws an exception if the key cannot be stored in this heap.
+    private void checkKey(int key) {
+        if (key < 0 || key >= positions.length) {
+            throw new IllegalArgumentException("Key " + key + " out of range [0, " + positions.length + ")");
+        }
+    }
+
+    // Moves the key up from the given hole until the heap invariant is satisfied. Parents are shifted down into the
+    // hole rather than swapped so each level costs one array write instead of two.
+    private void swim(int key, int index) {
+        double priority = priorities[key];
+        while (index > 0) {
+            int parentIndex = (index - 1) >>> shift;
+            int parent = heap[parentIndex];
+            if (priorities[parent] <= priority) {
+                break;
+            }
+            heap[index] = parent;
+            positions[parent] = index;
+            index = parentIndex;
+        }
+        heap[index] = key;
+        positions[key] = index;
+    }
+
+    // Moves the key down from the given hole until the heap invariant is satisfied.
+    private void sink(int key, int index) {
+        double priority = priorities[key];
+        while (true) {
+            int firstChild = (index << shift) + 1;
+            if (firstChild >= size) {
+                break;
+            }
+            // Find the smallest of up to d children.
+            int lastChild = Math.min(firstChild + (1 << shift), size);
+            int minChildIndex = firstChild;
+            double minChildPriority = priorities[heap[firstChild]];
+            for (int i = firstChild + 1; i < lastChild; i += 1) {
+                double childPriority = priorities[heap[i]];
+                if (childPriority < minChildPriority) {
+                    minChildIndex = i;
+                    minChildPriority = childPriority;
+                }
+            }
+            if (minChildPriority >= priority) {
+                break;
+            }
+            int child = heap[minChildIndex];
+            heap[index] = child;
+            positions[child] = index;
+            index = minChildIndex;
+        }
+        heap[index] = key;
+        positions[key] = index;
+    }
+}
@@ -0,0 +1,270 @@
+package minpq;
+
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * {@link ExtrinsicMinPQ} decorator that records the number of calls and a latency histogram for each operation, along
+ * with the high-water mark of the size. Latencies are counted in power-of-two buckets of nanoseconds, so recording one
+ * costs two clock reads and an array increment.
+ * <p>
+ * Use {@link #wrap(ExtrinsicMinPQ, boolean)} to make instrumentation switchable: when disabled it returns the given
+ * priority queue itself, so the disabled path has no overhead at all. Like the priority queues it wraps, this class is
+ * not thread-safe.
+ * <p>
+ * The bulk operations are inherited from {@link ExtrinsicMinPQ} so that every item they add, remove, or change is
+ * recorded as a separate call, at the cost of any faster bulk implementation in the wrapped priority queue.
+ *
+ * @param <T> the type of elements in this priority queue.
+ * @see ExtrinsicMinPQ
+ */
+public class InstrumentedMinPQ<T> implements ExtrinsicMinPQ<T> {
+    /**
+     * Number of latency buckets: bucket <i>b</i> counts latencies below 2<sup><i>b</i></sup> nanoseconds but not below
+     * 2<sup><i>b</i> - 1</sup>, and bucket 0 counts zero latencies.
+     */
+    private static final int NUM_BUCKETS = 64;
+    /**
+     * The wrapped priority queue.
+     */
+    private final ExtrinsicMinPQ<T> pq;
+    /**
+     * Latency histogram for each operation, indexed by ordinal and then by bucket.
+     */
+    private final long[][] histograms;
+    /**
+     * Total latency in nanoseconds for each operation, indexed by ordinal.
+     */
+    private final long[] totalNanos;
+    /**
+     * The largest size reached since construction or the last reset.
+     */
+    private int highWaterMark;
+
+    /**
+     * Instrumented operations.
+     */
+    public enum Operation {
+        ADD, CONTAINS, PEEK_MIN, REMOVE_MIN, CHANGE_PRIORITY
+    }
+
+    /**
+     * Constructs an instance that records the operations on the given priority queue.
+     *
+     * @param pq the priority queue to wrap.
+     * @throws IllegalArgumentException if pq is null.
+     */
+    public InstrumentedMinPQ(ExtrinsicMinPQ<T> pq) {
+        if (pq == null) {
+            throw new IllegalArgumentException("Null priority queue");
+        }
+        this.pq = pq;
+        histograms = new long[Operation.values().length][NUM_BUCKETS];
+        totalNanos = new long[Operation.values().length];
+        highWaterMark = pq.size();
+    }
+
+    /**
+     * Returns an instrumented view of the given priority queue if enabled, or the priority queue itself otherwise.
+     *
+     * @param pq      the priority queue to wrap.
+     * @param enabled whether to record operations.
+     * @param <T>     the type of elements in the priority queue.
+     * @return an {@link InstrumentedMinPQ} wrapping pq if enabled, or pq otherwise.
+     */
+    public static <T> ExtrinsicMinPQ<T> wrap(ExtrinsicMinPQ<T> pq, boolean enabled) {
+        return enabled ? new InstrumentedMinPQ<>(pq) : pq;
+    }
+
+    @Override
+    public void add(T item, double priority) {
+        long start = System.nanoTime();
+        pq.add(item, priority);
+        record(Operation.ADD, start);
+        highWaterMark = Math.max(highWaterMark, pq.size());
+    }
+
+    @Override
+    public boolean contains(T item) {
+        long start = System.nanoTime();
+        boolean result = pq.contains(item);
+        record(Operation.CONTAINS, start);
+        return result;
+    }
+
+    @Override
+    public T peekMin() {
+        long start = System.nanoTime();
+        T min = pq.peekMin();
+        record(Operation.PEEK_MIN, start);
+        return min;
+    }
+
+    @Override
+    public List<T> peekMin(int k) {
+        return pq.peekMin(k);
+    }
+
+    @Override
+    public Iterator<T> snapshotIterator() {
+        return pq.snapshotIterator();
+    }
+
+    @Override
+    public T removeMin() {
+        long start = System.nanoTime();
+        T min = pq.removeMin();
+        record(Operation.REMOVE_MIN, start);
+        return min;
+    }
+
+    @Override
+    public void changePriority(T item, double priority) {
+        long start = System.nanoTime();
+        pq.changePriority(item, priority);
+        record(Operation.CHANGE_PRIORITY, start);
+    }
+
+    @Override
+    public int size() {
+        return pq.size();
+    }
+
+    /**
+     * Returns the metrics recorded since construction or the last reset.
+     *
+     * @return an immutable snapshot of the metrics.
+     */
+    public Snapshot snapshot() {
+        return new Snapshot(this);
+    }
+
+    /**
+     * Clears all recorded metrics, restarting the high-water mark from the current size.
+     */
+    public void reset() {
+        for (long[] histogram : histograms) {
+            Arrays.fill(histogram, 0);
+        }
+        Arrays.fill(totalNanos, 0);
+        highWaterMark = pq.size();
+    }
+
+    // Records a completed call of the operation that started at the given time.
+    private void record(Operation operation, long start) {
+        long nanos = Math.max(System.nanoTime() - start, 0);
+        histograms[operation.ordinal()][Long.SIZE - Long.numberOfLeadingZeros(nanos)] += 1;
+        totalNanos[operation.ordinal()] += nanos;
+    }
+
+    /**
+     * Immutable copy of the metrics recorded by an {@link InstrumentedMinPQ}.
+     */
+    public static class Snapshot {
+        private final Map<Operation, long[]> histograms;
+        private final Map<Operation, Long> counts;
+        private final Map<Operation, Long> totalNanos;
+        private final int size;
+        private final int highWaterMark;
+
+        private Snapshot(InstrumentedMinPQ<?> pq) {
+            histograms = new EnumMap<>(Operation.class);
+            counts = new EnumMap<>(Operation.class);
+            totalNanos = new EnumMap<>(Operation.class);
+            for (Operation operation : Operation.values()) {
+                long[] histogram = pq.histograms[operation.ordinal()].clone();
+                long count = 0;
+                for (long bucketCount : histogram) {
+                    count += bucketCount;
+                }
+                histograms.put(operation, histogram);
+                counts.put(operation, count);
+                totalNanos.put(operation, pq.totalNanos[operation.ordinal()]);
+            }
+            size = pq.size();
+            highWaterMark = pq.highWaterMark;
+        }
+
+        /**
+         * Returns the number of calls of the operation.
+         *
+         * @param operation the operation.
+         * @return the number of calls of the operation.
+         */
+        public long count(Operation operation) {
+            return counts.get(operation);
+        }
+
+        /**
+         * Returns the mean latency of the operation in nanoseconds, or 0 if it was never called.
+         *
+         * @param operation the operation.
+         * @return the mean latency of the operation in nanoseconds.
+         */
+        public double meanNanos(Operation operation) {
+            long count = count(operation);
+            return count == 0 ? 0 : (double) totalNanos.get(operation) / count;
+        }
+
+        /**
+         * Returns an upper bound on the given percentile of the operation's latencies in nanoseconds, within a factor
+         * of 2 of the actual value, or 0 if the operation was never called.
+         *
+         * @param operation  the operation.
+         * @param percentile the percentile in the range [0, 100].
+         * @return an upper bound on the percentile latency in nanoseconds.
+         * @throws IllegalArgumentException if the percentile is not in the range [0, 100].
+         */
+        public long percentileNanos(Operation operation, double percentile) {
+            if (!(0 <= percentile && percentile <= 100)) {
+                throw new IllegalArgumentException("Percentile must be in [0, 100] but was " + percentile);
+            }
+            long[] histogram = histograms.get(operation);
+            long rank = Math.max((long) Math.ceil(percentile / 100 * count(operation)), 1);
+            long seen = 0;
+            for (int bucket = 0; bucket < histogram.length; bucket += 1) {
+                seen += histogram[bucket];
+                if (seen >= rank) {
+                    return bucket == 0 ? 0 : (1L << bucket) - 1;
+                }
+            }
+            return 0;
+        }
+
+        /**
+         * Returns the size of the priority queue when this snapshot was taken.
+         *
+         * @return the size of the priority queue.
+         */
+        public int size() {
+            return size;
+        }
+
+        /**
+         * Returns the largest size of the priority queue since construction or the last reset.
+         *
+         * @return the high-water mark of the size.
+         */
+        public int highWaterMark() {
+            return highWaterMark;
+        }
+
+        @Override
+        public String toString() {
+            StringBuilder result = new StringBuilder();
+            result.append("size ").append(size).append(", high-water mark ").append(highWaterMark);
+            for (Operation operation : Operation.values()) {
+                long count = count(operation);
+                if (count > 0) {
+                    result.append(String.format("%n%s: %d calls, mean %.0f ns, p50 < %d ns, p99 < %d ns, max < %d ns",
+                            operation, count, meanNanos(operation), percentileNanos(operation, 50) + 1,
+                            percentileNanos(operation, 99) + 1, percentileNanos(operation, 100) + 1));
+                }
+            }
+            return result.toString();
+        }
+    }
+}
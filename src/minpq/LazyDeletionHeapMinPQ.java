@@ -0,0 +1,298 @@
+package minpq;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.PriorityQueue;
+
+/**
+ * Lazy-deletion binary heap implementation of the {@link ExtrinsicMinPQ} interface. Changing an item's priority marks
+ * its current heap entry as stale and pushes a fresh entry instead of moving the old one, so the heap never has to track
+ * where each item is. Stale entries are discarded when they reach the top of the heap, and the heap is compacted once
+ * the fraction of stale entries exceeds a threshold.
+ * <p>
+ * This trades memory for speed on workloads dominated by {@code changePriority}, such as Dijkstra's algorithm.
+ *
+ * @param <T> the type of elements in this priority queue.
+ * @see ExtrinsicMinPQ
+ */
+public class LazyDeletionHeapMinPQ<T> implements ExtrinsicMinPQ<T> {
+    /**
+     * Default fraction of stale heap entries that triggers compaction.
+     */
+    public static final double DEFAULT_COMPACTION_THRESHOLD = 0.5;
+    /**
+     * Heaps smaller than this are never compacted since discarding their stale entries is already cheap.
+     */
+    private static final int MIN_COMPACTION_SIZE = 64;
+    /**
+     * {@link List} of {@link Entry} objects representing the heap, including stale entries.
+     */
+    private final List<Entry<T>> heap;
+    /**
+     * {@link Map} of each item to its only live heap entry.
+     */
+    private final Map<T, Entry<T>> itemToEntry;
+    /**
+     * Fraction of stale heap entries that triggers compaction.
+     */
+    private final double compactionThreshold;
+    /**
+     * The number of stale entries in the heap.
+     */
+    private int staleCount;
+    /**
+     * The number of times the heap was compacted.
+     */
+    private long compactionCount;
+    /**
+     * The number of stale entries discarded from the top of the heap.
+     */
+    private long discardCount;
+
+    /**
+     * Constructs an empty instance that compacts once half of its heap entries are stale.
+     */
+    public LazyDeletionHeapMinPQ() {
+        this(DEFAULT_COMPACTION_THRESHOLD);
+    }
+
+    /**
+     * Constructs an empty instance that compacts once the given fraction of its heap entries are stale.
+     *
+     * @param compactionThreshold the fraction of stale heap entries that triggers compaction.
+     * @throws IllegalArgumentException if the threshold is not in the range (0, 1).
+     */
+    public LazyDeletionHeapMinPQ(double compactionThreshold) {
+        if (!(0 < compactionThreshold && compactionThreshold < 1)) {
+            throw new IllegalArgumentException("Threshold must be in (0, 1) but was " + compactionThreshold);
+        }
+        heap = new ArrayList<>();
+        itemToEntry = new HashMap<>();
+        this.compactionThreshold = compactionThreshold;
+    }
+
+    @Override
+    public void add(T item, double priority) {
+        if (item == null) {
+            throw new IllegalArgumentException("Null item");
+        }
+        if (contains(item)) {
+            throw new IllegalArgumentException("Already contains " + item);
+        }
+        push(new Entry<>(item, priority));
+    }
+
+    @Override
+    public boolean contains(T item) {
+        return itemToEntry.containsKey(item);
+    }
+
+    @Override
+    public T peekMin() {
+        if (isEmpty()) {
+            throw new NoSuchElementException("PQ is empty");
+        }
+        discardStale();
+        return heap.get(0).item;
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Walks the heap with a small auxiliary heap of frontier indices: each index is returned only after its parent.
+     * Stale entries are skipped rather than discarded, but their children are still added to the frontier.
+     */
+    @Override
+    public Iterator<T> snapshotIterator() {
+        PriorityQueue<Integer> frontier = new PriorityQueue<>(
+                Comparator.comparingDouble(index -> heap.get(index).priority)
+        );
+        if (!heap.isEmpty()) {
+            frontier.add(0);
+        }
+        return new Iterator<>() {
+            @Override
+            public boolean hasNext() {
+                while (!frontier.isEmpty() && heap.get(frontier.peek()).stale) {
+                    expand(frontier.remove());
+                }
+                return !frontier.isEmpty();
+            }
+
+            @Override
+            public T next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                int index = frontier.remove();
+                expand(index);
+                return heap.get(index).item;
+            }
+
+            // Adds the children of the heap index to the frontier.
+            private void expand(int index) {
+                for (int child = 2 * index + 1; child <= 2 * index + 2 && child < heap.size(); child += 1) {
+                    frontier.add(child);
+                }
+            }
+        };
+    }
+
+    @Override
+    public T removeMin() {
+        if (isEmpty()) {
+            throw new NoSuchElementException("PQ is empty");
+        }
+        discardStale();
+        T min = pop().item;
+        itemToEntry.remove(min);
+        return min;
+    }
+
+    @Override
+    public void changePriority(T item, double priority) {
+        Entry<T> entry = itemToEntry.get(item);
+        if (entry == null) {
+            throw new NoSuchElementException("PQ does not contain " + item);
+        }
+        if (priority == entry.priority) {
+            return;
+        }
+        entry.stale = true;
+        staleCount += 1;
+        push(new Entry<>(item, priority));
+        if (heap.size() >= MIN_COMPACTION_SIZE && staleCount > compactionThreshold * heap.size()) {
+            compact();
+        }
+    }
+
+    @Override
+    public int size() {
+        return itemToEntry.size();
+    }
+
+    /**
+     * Returns the number of stale entries currently in the heap.
+     *
+     * @return the number of stale entries currently in the heap.
+     */
+    public int staleCount() {
+        return staleCount;
+    }
+
+    /**
+     * Returns the number of times the heap has been compacted.
+     *
+     * @return the number of compactions.
+     */
+    public long compactionCount() {
+        return compactionCount;
+    }
+
+    /**
+     * Returns the number of stale entries discarded upon reaching the top of the heap rather than by compaction.
+     *
+     * @return the number of stale entries discarded from the top of the heap.
+     */
+    public long discardCount() {
+        return discardCount;
+    }
+
+    // Adds the entry as the live entry for its item.
+    private void push(Entry<T> entry) {
+        itemToEntry.put(entry.item, entry);
+        heap.add(entry);
+        swim(heap.size() - 1, entry);
+    }
+
+    // Removes and returns the top entry.
+    private Entry<T> pop() {
+        Entry<T> top = heap.get(0);
+        Entry<T> last = heap.remove(heap.size() - 1);
+        if (!heap.isEmpty()) {
+            sink(0, last);
+        }
+        return top;
+    }
+
+    // Pops stale entries until the top entry is live. Requires at least one live entry.
+    private void discardStale() {
+        while (heap.get(0).stale) {
+            pop();
+            staleCount -= 1;
+            discardCount += 1;
+        }
+    }
+
+    // Removes every stale entry and rebuilds the heap bottom-up in linear time.
+    private void compact() {
+        int live = 0;
+        for (int i = 0; i < heap.size(); i += 1) {
+            Entry<T> entry = heap.get(i);
+            if (!entry.stale) {
+                heap.set(live, entry);
+                live += 1;
+            }
+        }
+        heap.subList(live, heap.size()).clear();
+        for (int i = heap.size() / 2 - 1; i >= 0; i -= 1) {
+            sink(i, heap.get(i));
+        }
+        staleCount = 0;
+        compactionCount += 1;
+    }
+
+    // Moves the entry up from the hole at the given index until the heap invariant is satisfied.
+    private void swim(int index, Entry<T> entry) {
+        while (index > 0) {
+            int parentIndex = (index - 1) / 2;
+            Entry<T> parent = heap.get(parentIndex);
+            if (parent.priority <= entry.priority) {
+                break;
+            }
+            heap.set(index, parent);
+            index = parentIndex;
+        }
+        heap.set(index, entry);
+    }
+
+    // Moves the entry down from the hole at the given index until the heap invariant is satisfied.
+    private void sink(int index, Entry<T> entry) {
+        int size = heap.size();
+        while (2 * index + 1 < size) {
+            int childIndex = 2 * index + 1;
+            Entry<T> child = heap.get(childIndex);
+            if (childIndex + 1 < size && heap.get(childIndex + 1).priority < child.priority) {
+                childIndex += 1;
+                child = heap.get(childIndex);
+            }
+            if (entry.priority <= child.priority) {
+                break;
+            }
+            heap.set(index, child);
+            index = childIndex;
+        }
+        heap.set(index, entry);
+    }
+
+    /**
+     * An item-priority pair in the heap, marked stale once a newer entry for the same item has been pushed.
+     *
+     * @param <T> the type of element represented by this entry.
+     */
+    private static class Entry<T> {
+        private final T item;
+        private final double priority;
+        private boolean stale;
+
+        Entry(T item, double priority) {
+            this.item = item;
+            this.priority = priority;
+        }
+    }
+}
@@ -0,0 +1,248 @@
+package minpq;
+
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.PriorityQueue;
+
+/**
+ * Leftist heap implementation of the {@link MergeableMinPQ} interface. Every node's left subtree has a right spine at
+ * least as long as its right subtree's, so the right spine of the whole heap has O(log N) nodes and two heaps can be
+ * merged by merging their right spines in O(log N) time.
+ * <p>
+ * Melding also moves the item index of the smaller priority queue into the larger one, which costs one hash
+ * operation per item in the smaller priority queue, so {@link #meld(MergeableMinPQ)} takes O(min(N, M) + log(N + M))
+ * expected time for priority queues of sizes N and M.
+ *
+ * @param <T> the type of elements in this priority queue.
+ * @see MergeableMinPQ
+ */
+public class LeftistHeapMinPQ<T> implements MergeableMinPQ<T> {
+    /**
+     * {@link Map} of each item to its node in the heap.
+     */
+    private Map<T, Node<T>> itemToNode;
+    /**
+     * The root of the heap: the node with the minimum priority value.
+     */
+    private Node<T> root;
+
+    /**
+     * Constructs an empty instance.
+     */
+    public LeftistHeapMinPQ() {
+        itemToNode = new HashMap<>();
+    }
+
+    @Override
+    public void add(T item, double priority) {
+        if (item == null) {
+            throw new IllegalArgumentException("Null item");
+        }
+        if (contains(item)) {
+            throw new IllegalArgumentException("Already contains " + item);
+        }
+        Node<T> node = new Node<>(item, priority);
+        itemToNode.put(item, node);
+        root = detached(merge(root, node));
+    }
+
+    @Override
+    public boolean contains(T item) {
+        return itemToNode.containsKey(item);
+    }
+
+    @Override
+    public T peekMin() {
+        if (isEmpty()) {
+            throw new NoSuchElementException("PQ is empty");
+        }
+        return root.item;
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Walks the heap with a small auxiliary heap of frontier nodes: each node is returned only after its parent, so the
+     * first <i>k</i> items cost O(k log k) time.
+     */
+    @Override
+    public Iterator<T> snapshotIterator() {
+        PriorityQueue<Node<T>> frontier = new PriorityQueue<>(Comparator.comparingDouble(node -> node.priority));
+        if (root != null) {
+            frontier.add(root);
+        }
+        return new Iterator<>() {
+            @Override
+            public boolean hasNext() {
+                return !frontier.isEmpty();
+            }
+
+            @Override
+            public T next() {
+                if (frontier.isEmpty()) {
+                    throw new NoSuchElementException();
+                }
+                Node<T> node = frontier.remove();
+                if (node.left != null) {
+                    frontier.add(node.left);
+                }
+                if (node.right != null) {
+                    frontier.add(node.right);
+                }
+                return node.item;
+            }
+        };
+    }
+
+    @Override
+    public T removeMin() {
+        if (isEmpty()) {
+            throw new NoSuchElementException("PQ is empty");
+        }
+        T min = root.item;
+        root = detached(merge(root.left, root.right));
+        itemToNode.remove(min);
+        return min;
+    }
+
+    @Override
+    public void changePriority(T item, double priority) {
+        Node<T> node = itemToNode.get(item);
+        if (node == null) {
+            throw new NoSuchElementException("PQ does not contain " + item);
+        }
+        if (node == root && priority <= node.priority) {
+            node.priority = priority;
+            return;
+        }
+        remove(node);
+        node.priority = priority;
+        root = detached(merge(root, node));
+    }
+
+    @Override
+    public int size() {
+        return itemToNode.size();
+    }
+
+    @Override
+    public void meld(MergeableMinPQ<T> other) {
+        if (other == this) {
+            throw new IllegalArgumentException("Cannot meld with itself");
+        }
+        if (!(other instanceof LeftistHeapMinPQ)) {
+            throw new IllegalArgumentException("Cannot meld with " + other.getClass().getSimpleName());
+        }
+        LeftistHeapMinPQ<T> heap = (LeftistHeapMinPQ<T>) other;
+        // Move the smaller index into the larger one, checking for shared items before changing anything.
+        Map<T, Node<T>> larger = itemToNode;
+        Map<T, Node<T>> smaller = heap.itemToNode;
+        if (smaller.size() > larger.size()) {
+            larger = heap.itemToNode;
+            smaller = itemToNode;
+        }
+        for (T item : smaller.keySet()) {
+            if (larger.containsKey(item)) {
+                throw new IllegalArgumentException("Both contain " + item);
+            }
+        }
+        larger.putAll(smaller);
+        itemToNode = larger;
+        root = detached(merge(root, heap.root));
+        heap.itemToNode = new HashMap<>();
+        heap.root = null;
+    }
+
+    // Returns the rank of the node: the number of nodes on its right spine, or 0 for null.
+    private static <T> int rank(Node<T> node) {
+        return node == null ? 0 : node.rank;
+    }
+
+    // Clears the parent reference of the node (if any) so it can serve as a root, then returns it.
+    private static <T> Node<T> detached(Node<T> node) {
+        if (node != null) {
+            node.parent = null;
+        }
+        return node;
+    }
+
+    // Merges the right spines of two heaps and returns the root of the result. Either argument may be null.
+    private static <T> Node<T> merge(Node<T> a, Node<T> b) {
+        if (a == null) {
+            return b;
+        } else if (b == null) {
+            return a;
+        }
+        if (b.priority < a.priority) {
+            Node<T> temp = a;
+            a = b;
+            b = temp;
+        }
+        a.right = merge(a.right, b);
+        a.right.parent = a;
+        if (rank(a.left) < rank(a.right)) {
+            Node<T> temp = a.left;
+            a.left = a.right;
+            a.right = temp;
+        }
+        a.rank = rank(a.right) + 1;
+        return a;
+    }
+
+    // Removes the node from the heap by replacing it with the merge of its children, then restores the leftist
+    // property on the path to the root. Leaves the node detached with no children.
+    private void remove(Node<T> node) {
+        Node<T> parent = node.parent;
+        Node<T> replacement = merge(node.left, node.right);
+        if (replacement != null) {
+            replacement.parent = parent;
+        }
+        if (parent == null) {
+            root = replacement;
+        } else if (parent.left == node) {
+            parent.left = replacement;
+        } else {
+            parent.right = replacement;
+        }
+        // Nodes above an ancestor whose rank is unchanged are unaffected, so stop there.
+        for (Node<T> curr = parent; curr != null; curr = curr.parent) {
+            if (rank(curr.left) < rank(curr.right)) {
+                Node<T> temp = curr.left;
+                curr.left = curr.right;
+                curr.right = temp;
+            }
+            int rank = rank(curr.right) + 1;
+            if (rank == curr.rank) {
+                break;
+            }
+            curr.rank = rank;
+        }
+        node.left = null;
+        node.right = null;
+        node.parent = null;
+        node.rank = 1;
+    }
+
+    /**
+     * A heap node with references to its children and parent.
+     *
+     * @param <T> the type of element represented by this node.
+     */
+    private static class Node<T> {
+        private final T item;
+        private double priority;
+        private int rank;
+        private Node<T> left;
+        private Node<T> right;
+        private Node<T> parent;
+
+        Node(T item, double priority) {
+            this.item = item;
+            this.priority = priority;
+            this.rank = 1;
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package minpq;
+
+import java.util.PrimitiveIterator;
+
+/**
+ * Priority queue of {@code long} items with <b>extrinsic priority</b>, such as numeric ids. Specializes
+ * {@link ExtrinsicMinPQ} so that items are never boxed. Cannot contain duplicate items.
+ *
+ * @see LongHeapMinPQ
+ * @see ExtrinsicMinPQ
+ */
+public interface LongExtrinsicMinPQ {
+
+    /**
+     * Adds an item with the given priority value.
+     *
+     * @param item     the element to add.
+     * @param priority the priority value for the item.
+     * @throws IllegalArgumentException if item is already present.
+     */
+    void add(long item, double priority);
+
+    /**
+     * Returns true if the given item is in this priority queue.
+     *
+     * @param item element to be checked for containment.
+     * @return true if the given item is in this priority queue.
+     */
+    boolean contains(long item);
+
+    /**
+     * Returns the item with the minimum priority value.
+     *
+     * @return the item with the minimum priority value.
+     * @throws java.util.NoSuchElementException if this priority queue is empty.
+     */
+    long peekMin();
+
+    /**
+     * Returns an iterator over the items in order of increasing priority value that does not modify this priority
+     * queue. The behavior of the iterator is unspecified if this priority queue is modified during iteration.
+     *
+     * @return an iterator over the items in order of increasing priority value.
+     * @see ExtrinsicMinPQ#snapshotIterator()
+     */
+    PrimitiveIterator.OfLong snapshotIterator();
+
+    /**
+     * Returns and removes the item with the minimum priority value.
+     *
+     * @return the item with the minimum priority value.
+     * @throws java.util.NoSuchElementException if this priority queue is empty.
+     */
+    long removeMin();
+
+    /**
+     * Returns the priority value associated with the given item.
+     *
+     * @param item the element whose priority value should be returned.
+     * @return the priority value associated with the item.
+     * @throws java.util.NoSuchElementException if the item is not present.
+     */
+    double priority(long item);
+
+    /**
+     * Updates the given items' associated priority value.
+     *
+     * @param item     the element whose associated priority value should be modified.
+     * @param priority the updated priority value.
+     * @throws java.util.NoSuchElementException if the item is not present.
+     */
+    void changePriority(long item, double priority);
+
+    /**
+     * Returns the number of items in this priority queue.
+     *
+     * @return the number of elements in this priority queue.
+     */
+    int size();
+
+    /**
+     * Returns true if this priority queue contains no items.
+     *
+     * @return true if this priority queue contains no items.
+     */
+    default boolean isEmpty() {
+        return size() == 0;
+    }
+}
@@ -0,0 +1,246 @@
+package minpq;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+import java.util.PriorityQueue;
+
+/**
+ * Binary heap implementation of the {@link LongExtrinsicMinPQ} interface. Items and priority values are kept in
+ * parallel {@code long[]} and {@code double[]} arrays, and item positions are tracked by an open-addressing hash table
+ * with linear probing that maps each item to its heap index.
+ * <p>
+ * The table stores only heap indices and reads each item back from the heap, so with the table at most half full an
+ * entry costs about 28 bytes in total and nothing on the hot path is boxed.
+ *
+ * @see LongExtrinsicMinPQ
+ */
+public class LongHeapMinPQ implements LongExtrinsicMinPQ {
+    /**
+     * Initial heap capacity. The hash table starts with twice as many slots.
+     */
+    private static final int INITIAL_CAPACITY = 16;
+    /**
+     * Item of the entry at each heap index.
+     */
+    private long[] items;
+    /**
+     * Priority value of the entry at each heap index.
+     */
+    private double[] priorities;
+    /**
+     * Hash table slot of the entry at each heap index.
+     */
+    private int[] heapToSlot;
+    /**
+     * Hash table of heap indices plus 1, or 0 for empty slots. The length is always a power of 2.
+     */
+    private int[] slots;
+    /**
+     * The number of elements in the heap.
+     */
+    private int size;
+
+    /**
+     * Constructs an empty instance.
+     */
+    public LongHeapMinPQ() {
+        items = new long[INITIAL_CAPACITY];
+        priorities = new double[INITIAL_CAPACITY];
+        heapToSlot = new int[INITIAL_CAPACITY];
+        slots = new int[2 * INITIAL_CAPACITY];
+    }
+
+    @Override
+    public void add(long item, double priority) {
+        int slot = find(item);
+        if (slot >= 0) {
+            throw new IllegalArgumentException("Already contains " + item);
+        }
+        if (size == items.length) {
+            // Keep the table at most half full so that probe sequences stay short.
+            grow();
+            slot = find(item);
+        }
+        size += 1;
+        swim(size - 1, item, priority, ~slot);
+    }
+
+    @Override
+    public boolean contains(long item) {
+        return find(item) >= 0;
+    }
+
+    @Override
+    public long peekMin() {
+        if (isEmpty()) {
+            throw new NoSuchElementException("PQ is empty");
+        }
+        return items[0];
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Walks the heap from the root, keeping the children of each returned item in a frontier ordered by priority
+     * value, so returning the first <i>k</i> items takes time in O(<i>k</i> log <i>k</i>) regardless of the size.
+     */
+    @Override
+    public PrimitiveIterator.OfLong snapshotIterator() {
+        PriorityQueue<Integer> frontier = new PriorityQueue<>(Comparator.comparingDouble(index -> priorities[index]));
+        if (size > 0) {
+            frontier.add(0);
+        }
+        return new PrimitiveIterator.OfLong() {
+            @Override
+            public boolean hasNext() {
+                return !frontier.isEmpty();
+            }
+
+            @Override
+            public long nextLong() {
+                if (frontier.isEmpty()) {
+                    throw new NoSuchElementException();
+                }
+                int index = frontier.remove();
+                for (int child = 2 * index + 1; child <= 2 * index + 2 && child < size; child += 1) {
+                    frontier.add(child);
+                }
+                return items[index];
+            }
+        };
+    }
+
+    @Override
+    public long removeMin() {
+        if (isEmpty()) {
+            throw new NoSuchElementException("PQ is empty");
+        }
+        long min = items[0];
+        removeSlot(heapToSlot[0]);
+        size -= 1;
+        if (size > 0) {
+            sink(0, items[size], priorities[size], heapToSlot[size]);
+        }
+        return min;
+    }
+
+    @Override
+    public double priority(long item) {
+        int slot = find(item);
+        if (slot < 0) {
+            throw new NoSuchElementException("PQ does not contain " + item);
+        }
+        return priorities[slots[slot] - 1];
+    }
+
+    @Override
+    public void changePriority(long item, double priority) {
+        int slot = find(item);
+        if (slot < 0) {
+            throw new NoSuchElementException("PQ does not contain " + item);
+        }
+        int index = slots[slot] - 1;
+        double oldPriority = priorities[index];
+        if (priority < oldPriority) {
+            swim(index, item, priority, slot);
+        } else if (priority > oldPriority) {
+            sink(index, item, priority, slot);
+        }
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    // Returns the table slot in which to start probing for the item, spreading consecutive ids across the table.
+    private int home(long item) {
+        return (int) ((item * 0x9E3779B97F4A7C15L) >>> Long.numberOfLeadingZeros(slots.length - 1));
+    }
+
+    // Returns the table slot containing the item, or the bitwise complement of the empty slot where it would go.
+    private int find(long item) {
+        int mask = slots.length - 1;
+        for (int slot = home(item); ; slot = (slot + 1) & mask) {
+            if (slots[slot] == 0) {
+                return ~slot;
+            } else if (items[slots[slot] - 1] == item) {
+                return slot;
+            }
+        }
+    }
+
+    // Empties the table slot, shifting later items in the probe sequence back so that lookups still find them.
+    private void removeSlot(int slot) {
+        int mask = slots.length - 1;
+        int next = slot;
+        while (true) {
+            next = (next + 1) & mask;
+            if (slots[next] == 0) {
+                break;
+            }
+            int home = home(items[slots[next] - 1]);
+            // Move the item back unless its home slot lies cyclically within (slot, next].
+            boolean between = slot <= next ? slot < home && home <= next : slot < home || home <= next;
+            if (!between) {
+                slots[slot] = slots[next];
+                heapToSlot[slots[slot] - 1] = slot;
+                slot = next;
+            }
+        }
+        slots[slot] = 0;
+    }
+
+    // Doubles the heap arrays and the hash table, reinserting every item into the new table.
+    private void grow() {
+        int capacity = 2 * items.length;
+        items = Arrays.copyOf(items, capacity);
+        priorities = Arrays.copyOf(priorities, capacity);
+        heapToSlot = new int[capacity];
+        slots = new int[2 * capacity];
+        for (int i = 0; i < size; i += 1) {
+            int slot = ~find(items[i]);
+            slots[slot] = i + 1;
+            heapToSlot[i] = slot;
+        }
+    }
+
+    // Writes the entry to the given heap index.
+    private void set(int index, long item, double priority, int slot) {
+        items[index] = item;
+        priorities[index] = priority;
+        heapToSlot[index] = slot;
+        slots[slot] = index + 1;
+    }
+
+    // Moves the entry up from the hole at the given index until the heap invariant is satisfied.
+    private void swim(int index, long item, double priority, int slot) {
+        while (index > 0) {
+            int parent = (index - 1) >>> 1;
+            if (priorities[parent] <= priority) {
+                break;
+            }
+            set(index, items[parent], priorities[parent], heapToSlot[parent]);
+            index = parent;
+        }
+        set(index, item, priority, slot);
+    }
+
+    // Moves the entry down from the hole at the given index until the heap invariant is satisfied.
+    private void sink(int index, long item, double priority, int slot) {
+        int child;
+        while ((child = 2 * index + 1) < size) {
+            if (child + 1 < size && priorities[child + 1] < priorities[child]) {
+                child += 1;
+            }
+            if (priority <= priorities[child]) {
+                break;
+            }
+            set(index, items[child], priorities[child], heapToSlot[child]);
+            index = child;
+        }
+        set(index, item, priority, slot);
+    }
+}
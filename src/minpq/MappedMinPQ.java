@@ -0,0 +1,389 @@
+package minpq;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.PriorityQueue;
+
+/**
+ * Off-heap binary heap implementation of the {@link ExtrinsicMinPQ} interface for {@link String} items. The heap array,
+ * an append-only arena of UTF-8 encoded items, and an open-addressing hash index all live in memory-mapped files, so the
+ * priority queue can grow beyond the Java heap without adding to garbage collection work.
+ * <p>
+ * Each heap slot stores a priority value and the arena offset of its item. Each arena record stores the item's current
+ * heap index, hash code, and encoded bytes. Space for removed items is not reclaimed until the priority queue is closed.
+ *
+ * @see ExtrinsicMinPQ
+ */
+public class MappedMinPQ implements ExtrinsicMinPQ<String>, Closeable {
+    /**
+     * Bytes per heap slot: an 8-byte priority value followed by an 8-byte arena offset.
+     */
+    private static final int SLOT_BYTES = 16;
+    /**
+     * Bytes in an arena record header: the heap index, the hash code, and the encoded length.
+     */
+    private static final int HEADER_BYTES = 12;
+    /**
+     * Initial number of hash index slots. Must be a power of 2.
+     */
+    private static final int INITIAL_INDEX_CAPACITY = 1 << 10;
+    /**
+     * Directory containing the backing files.
+     */
+    private final Path directory;
+    /**
+     * True if the directory was created by this instance and should be deleted on close.
+     */
+    private final boolean deleteDirectory;
+    /**
+     * The heap of (priority, arena offset) slots.
+     */
+    private final MappedRegion heap;
+    /**
+     * Append-only arena of item records.
+     */
+    private final MappedRegion arena;
+    /**
+     * Open-addressing hash index with linear probing. Each 8-byte slot holds one more than the arena offset of an
+     * item, or 0 if the slot is empty.
+     */
+    private MappedRegion index;
+    /**
+     * Number of slots in the hash index.
+     */
+    private int indexCapacity;
+    /**
+     * Number of times the hash index has been resized, used to name its backing file.
+     */
+    private int indexGeneration;
+    /**
+     * Offset of the end of the arena.
+     */
+    private long arenaEnd;
+    /**
+     * The number of elements in the heap.
+     */
+    private int size;
+
+    /**
+     * Constructs an empty instance backed by files in a new temporary directory. The directory and files are deleted
+     * on {@link #close()}, or when the virtual machine exits if the priority queue is never closed.
+     *
+     * @throws IOException if the directory or files cannot be created.
+     */
+    public MappedMinPQ() throws IOException {
+        this(Files.createTempDirectory("minpq"), true);
+    }
+
+    /**
+     * Constructs an empty instance backed by new files in the given directory.
+     *
+     * @param directory the directory for the backing files.
+     * @throws IOException if the directory or files cannot be created.
+     */
+    public MappedMinPQ(Path directory) throws IOException {
+        this(Files.createDirectories(directory), false);
+    }
+
+    private MappedMinPQ(Path directory, boolean deleteDirectory) {
+        this.directory = directory;
+        this.deleteDirectory = deleteDirectory;
+        if (deleteDirectory) {
+            // Files registered later are deleted first, so the directory is empty by the time it is deleted.
+            directory.toFile().deleteOnExit();
+        }
+        heap = new MappedRegion(file("heap"));
+        arena = new MappedRegion(file("arena"));
+        indexCapacity = INITIAL_INDEX_CAPACITY;
+        index = newIndex(indexCapacity);
+    }
+
+    @Override
+    public void add(String item, double priority) {
+        if (item == null) {
+            throw new IllegalArgumentException("Null item");
+        }
+        byte[] bytes = item.getBytes(StandardCharsets.UTF_8);
+        int hash = hash(item);
+        int slot = find(bytes, hash);
+        if (index.getLong((long) slot * Long.BYTES) != 0) {
+            throw new IllegalArgumentException("Already contains " + item);
+        }
+
+        // Append the item to the arena, padding the record to keep headers aligned.
+        long offset = arenaEnd;
+        long recordBytes = (HEADER_BYTES + bytes.length + 3) & ~3L;
+        arena.ensureCapacity(offset + recordBytes);
+        arena.putInt(offset + Integer.BYTES, hash);
+        arena.putInt(offset + 2 * Integer.BYTES, bytes.length);
+        arena.put(offset + HEADER_BYTES, bytes);
+        arenaEnd += recordBytes;
+
+        index.putLong((long) slot * Long.BYTES, offset + 1);
+        heap.ensureCapacity((long) (size + 1) * SLOT_BYTES);
+        size += 1;
+        swim(size - 1, priority, offset);
+        if (size > indexCapacity / 2) {
+            resizeIndex();
+        }
+    }
+
+    @Override
+    public boolean contains(String item) {
+        if (item == null) {
+            return false;
+        }
+        int slot = find(item.getBytes(StandardCharsets.UTF_8), hash(item));
+        return index.getLong((long) slot * Long.BYTES) != 0;
+    }
+
+    @Override
+    public String peekMin() {
+        if (isEmpty()) {
+            throw new NoSuchElementException("PQ is empty");
+        }
+        return itemAt(offsetAt(0));
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Walks the mapped heap with a small on-heap auxiliary heap of frontier indices: each index is returned only after
+     * its parent, so the first <i>k</i> items cost O(k log k) time and only those items are decoded.
+     */
+    @Override
+    public Iterator<String> snapshotIterator() {
+        PriorityQueue<Integer> frontier = new PriorityQueue<>(Comparator.comparingDouble(this::priorityAt));
+        if (size > 0) {
+            frontier.add(0);
+        }
+        return new Iterator<>() {
+            @Override
+            public boolean hasNext() {
+                return !frontier.isEmpty();
+            }
+
+            @Override
+            public String next() {
+                if (frontier.isEmpty()) {
+                    throw new NoSuchElementException();
+                }
+                int i = frontier.remove();
+                for (int child = 2 * i + 1; child <= 2 * i + 2 && child < size; child += 1) {
+                    frontier.add(child);
+                }
+                return itemAt(offsetAt(i));
+            }
+        };
+    }
+
+    @Override
+    public String removeMin() {
+        if (isEmpty()) {
+            throw new NoSuchElementException("PQ is empty");
+        }
+        long offset = offsetAt(0);
+        String min = itemAt(offset);
+        removeFromIndex(find(min.getBytes(StandardCharsets.UTF_8), arena.getInt(offset + Integer.BYTES)));
+        size -= 1;
+        if (size > 0) {
+            sink(0, priorityAt(size), offsetAt(size));
+        }
+        return min;
+    }
+
+    @Override
+    public void changePriority(String item, double priority) {
+        if (item == null) {
+            throw new NoSuchElementException("PQ does not contain null");
+        }
+        int slot = find(item.getBytes(StandardCharsets.UTF_8), hash(item));
+        long entry = index.getLong((long) slot * Long.BYTES);
+        if (entry == 0) {
+            throw new NoSuchElementException("PQ does not contain " + item);
+        }
+        long offset = entry - 1;
+        int i = arena.getInt(offset);
+        double oldPriority = priorityAt(i);
+        if (priority < oldPriority) {
+            swim(i, priority, offset);
+        } else if (priority > oldPriority) {
+            sink(i, priority, offset);
+        }
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Releases and deletes the backing files. The priority queue must not be used afterwards.
+     *
+     * @throws IOException if the files cannot be closed or deleted.
+     */
+    @Override
+    public void close() throws IOException {
+        heap.close();
+        arena.close();
+        index.close();
+        if (deleteDirectory) {
+            Files.deleteIfExists(directory);
+        }
+    }
+
+    // Returns the hash code of the item with its high bits spread into the low bits used for indexing.
+    private static int hash(String item) {
+        int h = item.hashCode();
+        return h ^ (h >>> 16);
+    }
+
+    private double priorityAt(int i) {
+        return heap.getDouble((long) i * SLOT_BYTES);
+    }
+
+    private long offsetAt(int i) {
+        return heap.getLong((long) i * SLOT_BYTES + Double.BYTES);
+    }
+
+    // Writes the slot at heap index i and records the index in the item's arena record.
+    private void setSlot(int i, double priority, long offset) {
+        heap.putDouble((long) i * SLOT_BYTES, priority);
+        heap.putLong((long) i * SLOT_BYTES + Double.BYTES, offset);
+        arena.putInt(offset, i);
+    }
+
+    // Decodes the item stored in the arena record at the given offset.
+    private String itemAt(long offset) {
+        byte[] bytes = new byte[arena.getInt(offset + 2 * Integer.BYTES)];
+        arena.get(offset + HEADER_BYTES, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    // Moves the entry up from the hole at index i until the heap invariant is satisfied.
+    private void swim(int i, double priority, long offset) {
+        while (i > 0) {
+            int parent = (i - 1) / 2;
+            double parentPriority = priorityAt(parent);
+            if (parentPriority <= priority) {
+                break;
+            }
+            setSlot(i, parentPriority, offsetAt(parent));
+            i = parent;
+        }
+        setSlot(i, priority, offset);
+    }
+
+    // Moves the entry down from the hole at index i until the heap invariant is satisfied.
+    private void sink(int i, double priority, long offset) {
+        while (2 * i + 1 < size) {
+            int child = 2 * i + 1;
+            double childPriority = priorityAt(child);
+            if (child + 1 < size) {
+                double rightPriority = priorityAt(child + 1);
+                if (rightPriority < childPriority) {
+                    child += 1;
+                    childPriority = rightPriority;
+                }
+            }
+            if (priority <= childPriority) {
+                break;
+            }
+            setSlot(i, childPriority, offsetAt(child));
+            i = child;
+        }
+        setSlot(i, priority, offset);
+    }
+
+    // Returns the path of the backing file with the given name, deleting it on exit if the directory is temporary.
+    private Path file(String name) {
+        Path path = directory.resolve(name);
+        if (deleteDirectory) {
+            path.toFile().deleteOnExit();
+        }
+        return path;
+    }
+
+    // Returns a new empty hash index with the given number of slots.
+    private MappedRegion newIndex(int capacity) {
+        MappedRegion region = new MappedRegion(file("index" + indexGeneration));
+        indexGeneration += 1;
+        region.ensureCapacity((long) capacity * Long.BYTES);
+        return region;
+    }
+
+    // Returns the hash index slot containing the encoded item, or the empty slot where it would be inserted.
+    private int find(byte[] bytes, int hash) {
+        int mask = indexCapacity - 1;
+        for (int slot = hash & mask; ; slot = (slot + 1) & mask) {
+            long entry = index.getLong((long) slot * Long.BYTES);
+            if (entry == 0 || matches(entry - 1, bytes, hash)) {
+                return slot;
+            }
+        }
+    }
+
+    // Returns true if the arena record at the given offset holds the encoded item.
+    private boolean matches(long offset, byte[] bytes, int hash) {
+        if (arena.getInt(offset + Integer.BYTES) != hash
+                || arena.getInt(offset + 2 * Integer.BYTES) != bytes.length) {
+            return false;
+        }
+        byte[] stored = new byte[bytes.length];
+        arena.get(offset + HEADER_BYTES, stored);
+        return Arrays.equals(stored, bytes);
+    }
+
+    // Empties the hash index slot, shifting later entries in the probe sequence back so that lookups still find them.
+    private void removeFromIndex(int slot) {
+        int mask = indexCapacity - 1;
+        int next = slot;
+        while (true) {
+            next = (next + 1) & mask;
+            long entry = index.getLong((long) next * Long.BYTES);
+            if (entry == 0) {
+                break;
+            }
+            int home = arena.getInt(entry - 1 + Integer.BYTES) & mask;
+            // Move the entry back unless its home slot lies cyclically within (slot, next].
+            boolean between = slot <= next ? slot < home && home <= next : slot < home || home <= next;
+            if (!between) {
+                index.putLong((long) slot * Long.BYTES, entry);
+                slot = next;
+            }
+        }
+        index.putLong((long) slot * Long.BYTES, 0);
+    }
+
+    // Doubles the number of hash index slots and reinserts every entry using the hash codes stored in the arena.
+    private void resizeIndex() {
+        MappedRegion oldIndex = index;
+        int oldCapacity = indexCapacity;
+        indexCapacity *= 2;
+        index = newIndex(indexCapacity);
+        int mask = indexCapacity - 1;
+        for (int i = 0; i < oldCapacity; i += 1) {
+            long entry = oldIndex.getLong((long) i * Long.BYTES);
+            if (entry != 0) {
+                int slot = arena.getInt(entry - 1 + Integer.BYTES) & mask;
+                while (index.getLong((long) slot * Long.BYTES) != 0) {
+                    slot = (slot + 1) & mask;
+                }
+                index.putLong((long) slot * Long.BYTES, entry);
+            }
+        }
+        try {
+            oldIndex.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,154 @@
+package minpq;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Growable, byte-addressed region of memory backed by a memory-mapped file. The file is mapped in fixed-size segments
+ * so that the region can grow beyond the 2 GB limit of a single {@link MappedByteBuffer}. Reads and writes of
+ * primitive values must be aligned to their size so that they never straddle two segments.
+ */
+class MappedRegion implements Closeable {
+    /**
+     * Base-2 logarithm of the segment size in bytes.
+     */
+    private static final int SEGMENT_SHIFT = 26;
+    /**
+     * Segment size in bytes.
+     */
+    private static final int SEGMENT_SIZE = 1 << SEGMENT_SHIFT;
+    /**
+     * Bit mask for the offset within a segment.
+     */
+    private static final long SEGMENT_MASK = SEGMENT_SIZE - 1;
+    /**
+     * Path to the backing file.
+     */
+    private final Path path;
+    /**
+     * Channel to the backing file.
+     */
+    private final FileChannel channel;
+    /**
+     * The mapped segments in order.
+     */
+    private final List<MappedByteBuffer> segments;
+
+    /**
+     * Constructs an empty region backed by a new file at the given path, replacing any existing file.
+     *
+     * @param path the path to the backing file.
+     * @throws UncheckedIOException if the file cannot be created.
+     */
+    MappedRegion(Path path) {
+        this.path = path;
+        try {
+            channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                    StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        segments = new ArrayList<>();
+    }
+
+    /**
+     * Maps enough segments to address the given number of bytes, growing the backing file as needed.
+     *
+     * @param bytes the number of bytes that must be addressable.
+     * @throws UncheckedIOException if the file cannot be mapped.
+     */
+    void ensureCapacity(long bytes) {
+        try {
+            while ((long) segments.size() << SEGMENT_SHIFT < bytes) {
+                long position = (long) segments.size() << SEGMENT_SHIFT;
+                segments.add(channel.map(FileChannel.MapMode.READ_WRITE, position, SEGMENT_SIZE));
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    long getLong(long position) {
+        return segment(position).getLong(offset(position));
+    }
+
+    void putLong(long position, long value) {
+        segment(position).putLong(offset(position), value);
+    }
+
+    double getDouble(long position) {
+        return segment(position).getDouble(offset(position));
+    }
+
+    void putDouble(long position, double value) {
+        segment(position).putDouble(offset(position), value);
+    }
+
+    int getInt(long position) {
+        return segment(position).getInt(offset(position));
+    }
+
+    void putInt(long position, int value) {
+        segment(position).putInt(offset(position), value);
+    }
+
+    /**
+     * Copies bytes from this region into the destination array. The bytes may straddle segments.
+     *
+     * @param position the position of the first byte to read.
+     * @param dst      the destination array, which is filled completely.
+     */
+    void get(long position, byte[] dst) {
+        int copied = 0;
+        while (copied < dst.length) {
+            int length = Math.min(dst.length - copied, SEGMENT_SIZE - offset(position));
+            segment(position).get(offset(position), dst, copied, length);
+            copied += length;
+            position += length;
+        }
+    }
+
+    /**
+     * Copies all bytes from the source array into this region. The bytes may straddle segments.
+     *
+     * @param position the position of the first byte to write.
+     * @param src      the source array.
+     */
+    void put(long position, byte[] src) {
+        int copied = 0;
+        while (copied < src.length) {
+            int length = Math.min(src.length - copied, SEGMENT_SIZE - offset(position));
+            segment(position).put(offset(position), src, copied, length);
+            copied += length;
+            position += length;
+        }
+    }
+
+    /**
+     * Releases the backing file and deletes it. The region must not be used afterwards.
+     *
+     * @throws IOException if the file cannot be closed or deleted.
+     */
+    @Override
+    public void close() throws IOException {
+        segments.clear();
+        channel.close();
+        Files.deleteIfExists(path);
+    }
+
+    private MappedByteBuffer segment(long position) {
+        return segments.get((int) (position >>> SEGMENT_SHIFT));
+    }
+
+    private static int offset(long position) {
+        return (int) (position & SEGMENT_MASK);
+    }
+}
@@ -0,0 +1,25 @@
+package minpq;
+
+/**
+ * {@link ExtrinsicMinPQ} that can absorb all the items of another priority queue of the same implementation faster
+ * than adding them one at a time.
+ *
+ * @param <T> the type of elements in this priority queue.
+ * @see LeftistHeapMinPQ
+ * @see ExtrinsicMinPQ
+ */
+public interface MergeableMinPQ<T> extends ExtrinsicMinPQ<T> {
+
+    /**
+     * Moves all items from the other priority queue into this priority queue, leaving the other one empty.
+     * <p>
+     * Implementations that index their items, such as {@link LeftistHeapMinPQ}, must also check for shared items and
+     * move the smaller index into the larger one, so melding priority queues of sizes <i>N</i> and <i>M</i> takes
+     * O(min(<i>N</i>, <i>M</i>)) expected time overall, even if the heaps themselves meld faster.
+     *
+     * @param other the priority queue whose items should be moved.
+     * @throws IllegalArgumentException if other is this priority queue, is not the same implementation, or shares an
+     *                                  item with this priority queue.
+     */
+    void meld(MergeableMinPQ<T> other);
+}
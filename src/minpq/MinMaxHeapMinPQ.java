@@ -0,0 +1,249 @@
+package minpq;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+/**
+ * Min-max heap implementation of the {@link DoubleEndedMinPQ} interface. Nodes on even levels are no greater than all
+ * their descendants and nodes on odd levels are no less than all their descendants, so the minimum is at the root and
+ * the maximum is one of its children. Both ends can therefore be found in O(1) time and removed in O(log N) time.
+ *
+ * @param <T> the type of elements in this priority queue.
+ * @see DoubleEndedMinPQ
+ */
+public class MinMaxHeapMinPQ<T> implements DoubleEndedMinPQ<T> {
+    /**
+     * {@link List} of {@link Node} objects representing the heap of item-priority pairs.
+     */
+    private final List<Node<T>> nodes;
+    /**
+     * {@link Map} of each item to its node in the heap.
+     */
+    private final Map<T, Node<T>> itemToNode;
+
+    /**
+     * Constructs an empty instance.
+     */
+    public MinMaxHeapMinPQ() {
+        nodes = new ArrayList<>();
+        itemToNode = new HashMap<>();
+    }
+
+    @Override
+    public void add(T item, double priority) {
+        if (item == null) {
+            throw new IllegalArgumentException("Null item");
+        }
+        if (contains(item)) {
+            throw new IllegalArgumentException("Already contains " + item);
+        }
+        Node<T> node = new Node<>(item, priority, nodes.size());
+        nodes.add(node);
+        itemToNode.put(item, node);
+        pushUp(node.index);
+    }
+
+    @Override
+    public boolean contains(T item) {
+        return itemToNode.containsKey(item);
+    }
+
+    @Override
+    public T peekMin() {
+        if (isEmpty()) {
+            throw new NoSuchElementException("PQ is empty");
+        }
+        return nodes.get(0).item;
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Nodes on odd levels must be returned after all their descendants, so rather than walking the heap, the iterator
+     * sorts a copy of the nodes in O(N log N) time when it is created.
+     */
+    @Override
+    public Iterator<T> snapshotIterator() {
+        List<Node<T>> sorted = new ArrayList<>(nodes);
+        sorted.sort(Comparator.comparingDouble(node -> node.priority));
+        return sorted.stream().map(node -> node.item).iterator();
+    }
+
+    @Override
+    public T removeMin() {
+        if (isEmpty()) {
+            throw new NoSuchElementException("PQ is empty");
+        }
+        return removeAt(0);
+    }
+
+    @Override
+    public T peekMax() {
+        if (isEmpty()) {
+            throw new NoSuchElementException("PQ is empty");
+        }
+        return nodes.get(maxIndex()).item;
+    }
+
+    @Override
+    public double peekMaxPriority() {
+        if (isEmpty()) {
+            throw new NoSuchElementException("PQ is empty");
+        }
+        return nodes.get(maxIndex()).priority;
+    }
+
+    @Override
+    public T removeMax() {
+        if (isEmpty()) {
+            throw new NoSuchElementException("PQ is empty");
+        }
+        return removeAt(maxIndex());
+    }
+
+    @Override
+    public void changePriority(T item, double priority) {
+        Node<T> node = itemToNode.get(item);
+        if (node == null) {
+            throw new NoSuchElementException("PQ does not contain " + item);
+        }
+        node.priority = priority;
+        restore(node);
+    }
+
+    @Override
+    public int size() {
+        return nodes.size();
+    }
+
+    // Returns the index of the node with the maximum priority value: the root or the larger of its children.
+    private int maxIndex() {
+        if (nodes.size() == 1) {
+            return 0;
+        } else if (nodes.size() == 2 || nodes.get(1).priority >= nodes.get(2).priority) {
+            return 1;
+        }
+        return 2;
+    }
+
+    // Removes and returns the item at the given index by moving the last node into its place.
+    private T removeAt(int index) {
+        Node<T> removed = nodes.get(index);
+        Node<T> last = nodes.remove(nodes.size() - 1);
+        itemToNode.remove(removed.item);
+        if (last != removed) {
+            set(index, last);
+            restore(last);
+        }
+        return removed.item;
+    }
+
+    // Restores the heap invariant around a node whose priority value may violate it in either direction.
+    private void restore(Node<T> node) {
+        pushDown(node.index);
+        pushUp(node.index);
+    }
+
+    // Returns true if the index is on a min level (an even level, counting the root as level 0).
+    private static boolean isMinLevel(int index) {
+        return (31 - Integer.numberOfLeadingZeros(index + 1)) % 2 == 0;
+    }
+
+    // Returns true if the node at index i should be above the node at index j: smaller on min levels, larger on max.
+    private boolean isBetter(int i, int j, boolean min) {
+        return min ? nodes.get(i).priority < nodes.get(j).priority : nodes.get(i).priority > nodes.get(j).priority;
+    }
+
+    // Moves the node at the given index up until the heap invariant is satisfied.
+    private void pushUp(int index) {
+        if (index == 0) {
+            return;
+        }
+        boolean min = isMinLevel(index);
+        int parent = (index - 1) / 2;
+        // A node that belongs above its parent moves onto the parent's (opposite) level.
+        if (isBetter(parent, index, min)) {
+            swap(index, parent);
+            pushUpLevel(parent, !min);
+        } else {
+            pushUpLevel(index, min);
+        }
+    }
+
+    // Moves the node up by grandparents, staying on min levels or max levels, until the heap invariant is satisfied.
+    private void pushUpLevel(int index, boolean min) {
+        while (index > 2) {
+            int grandparent = (index - 3) / 4;
+            if (!isBetter(index, grandparent, min)) {
+                return;
+            }
+            swap(index, grandparent);
+            index = grandparent;
+        }
+    }
+
+    // Moves the node at the given index down until the heap invariant is satisfied.
+    private void pushDown(int index) {
+        boolean min = isMinLevel(index);
+        int size = nodes.size();
+        while (2 * index + 1 < size) {
+            // Find the best among the children and grandchildren.
+            int best = 2 * index + 1;
+            int[] candidates = {2 * index + 2, 4 * index + 3, 4 * index + 4, 4 * index + 5, 4 * index + 6};
+            for (int candidate : candidates) {
+                if (candidate < size && isBetter(candidate, best, min)) {
+                    best = candidate;
+                }
+            }
+            if (!isBetter(best, index, min)) {
+                return;
+            }
+            swap(index, best);
+            if (best <= 2 * index + 2) {
+                // A child is on the opposite level and has no grandchildren below the node, so stop here.
+                return;
+            }
+            // The grandchild's old position may now violate the order with its parent on the opposite level.
+            int parent = (best - 1) / 2;
+            if (isBetter(parent, best, min)) {
+                swap(best, parent);
+            }
+            index = best;
+        }
+    }
+
+    // Writes the node to the given index and records the index in the node.
+    private void set(int index, Node<T> node) {
+        nodes.set(index, node);
+        node.index = index;
+    }
+
+    // Swaps the nodes at the given indices i and j.
+    private void swap(int i, int j) {
+        Node<T> temp = nodes.get(i);
+        set(i, nodes.get(j));
+        set(j, temp);
+    }
+
+    /**
+     * An item-priority pair that records its current index in the heap.
+     *
+     * @param <T> the type of element represented by this node.
+     */
+    private static class Node<T> {
+        private final T item;
+        private double priority;
+        private int index;
+
+        Node(T item, double priority, int index) {
+            this.item = item;
+            this.priority = priority;
+            this.index = index;
+        }
+    }
+}
@@ -0,0 +1,264 @@
+package minpq;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Thread-safe MultiQueue implementation of the {@link ExtrinsicMinPQ} interface. Items are spread across <i>c</i>
+ * &middot; <i>p</i> internal heaps for <i>p</i> threads, each guarded by its own lock, so concurrent operations rarely
+ * contend on the same lock.
+ * <p>
+ * In <b>relaxed</b> mode, {@code removeMin} locks only the better of two randomly-chosen heaps, so it may return an item
+ * that is not the true minimum: the expected rank error grows with the number of heaps rather than with the number of
+ * items. In <b>strict</b> mode, {@code removeMin} locks every heap and always returns the true minimum. {@code peekMin}
+ * always locks every heap and returns the true minimum.
+ *
+ * @param <T> the type of elements in this priority queue.
+ * @see ExtrinsicMinPQ
+ */
+public class MultiQueueMinPQ<T> implements ExtrinsicMinPQ<T> {
+    /**
+     * Default number of internal heaps per thread.
+     */
+    private static final int DEFAULT_QUEUES_PER_THREAD = 2;
+    /**
+     * Number of failed random attempts before a relaxed {@code removeMin} falls back to checking every heap.
+     */
+    private static final int MAX_RELAXED_ATTEMPTS = 8;
+    /**
+     * The internal heaps.
+     */
+    private final Shard<T>[] shards;
+    /**
+     * {@link ConcurrentMap} of each item to the internal heap that contains it.
+     */
+    private final ConcurrentMap<T, Shard<T>> itemToShard;
+    /**
+     * The number of elements across all internal heaps.
+     */
+    private final AtomicInteger size;
+    /**
+     * True if {@code removeMin} must always return the true minimum.
+     */
+    private final boolean strict;
+
+    /**
+     * Constructs an empty instance with two internal heaps per thread.
+     *
+     * @param numThreads the expected number of concurrent threads.
+     * @param strict     true if {@code removeMin} must always return the true minimum.
+     */
+    public MultiQueueMinPQ(int numThreads, boolean strict) {
+        this(numThreads, DEFAULT_QUEUES_PER_THREAD, strict);
+    }
+
+    /**
+     * Constructs an empty instance with the given number of internal heaps per thread.
+     *
+     * @param numThreads      the expected number of concurrent threads.
+     * @param queuesPerThread the number of internal heaps per thread.
+     * @param strict          true if {@code removeMin} must always return the true minimum.
+     * @throws IllegalArgumentException if numThreads or queuesPerThread is not positive.
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public MultiQueueMinPQ(int numThreads, int queuesPerThread, boolean strict) {
+        if (numThreads <= 0 || queuesPerThread <= 0) {
+            throw new IllegalArgumentException("Non-positive number of threads or queues per thread");
+        }
+        shards = new Shard[numThreads * queuesPerThread];
+        for (int i = 0; i < shards.length; i += 1) {
+            shards[i] = new Shard<>();
+        }
+        itemToShard = new ConcurrentHashMap<>();
+        size = new AtomicInteger();
+        this.strict = strict;
+    }
+
+    @Override
+    public void add(T item, double priority) {
+        if (item == null) {
+            throw new IllegalArgumentException("Null item");
+        }
+        Shard<T> shard = shards[ThreadLocalRandom.current().nextInt(shards.length)];
+        shard.lock.lock();
+        try {
+            // Claim the item while holding the lock so other operations never see it mapped to a heap without it.
+            if (itemToShard.putIfAbsent(item, shard) != null) {
+                throw new IllegalArgumentException("Already contains " + item);
+            }
+            shard.heap.add(item, priority);
+            shard.updateMinPriority();
+        } finally {
+            shard.lock.unlock();
+        }
+        size.incrementAndGet();
+    }
+
+    @Override
+    public boolean contains(T item) {
+        return item != null && itemToShard.containsKey(item);
+    }
+
+    @Override
+    public T peekMin() {
+        lockAll();
+        try {
+            Shard<T> min = minShard();
+            if (min == null) {
+                throw new NoSuchElementException("PQ is empty");
+            }
+            return min.heap.peekMin();
+        } finally {
+            unlockAll();
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Copies every internal heap into a {@link DoubleMapMinPQ} while holding all the locks, so the iterator sees a
+     * consistent snapshot that concurrent operations do not affect. Creating the iterator costs O(N log N) time.
+     */
+    @Override
+    public Iterator<T> snapshotIterator() {
+        DoubleMapMinPQ<T> copy = new DoubleMapMinPQ<>();
+        lockAll();
+        try {
+            for (Shard<T> shard : shards) {
+                shard.heap.copyTo(copy);
+            }
+        } finally {
+            unlockAll();
+        }
+        return copy.snapshotIterator();
+    }
+
+    @Override
+    public T removeMin() {
+        if (!strict) {
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            for (int attempt = 0; attempt < MAX_RELAXED_ATTEMPTS; attempt += 1) {
+                if (size.get() == 0) {
+                    throw new NoSuchElementException("PQ is empty");
+                }
+                // Two-choice: read the cached minimums without locking and lock the better heap.
+                Shard<T> a = shards[random.nextInt(shards.length)];
+                Shard<T> b = shards[random.nextInt(shards.length)];
+                Shard<T> shard = b.minPriority < a.minPriority ? b : a;
+                if (shard.lock.tryLock()) {
+                    try {
+                        if (!shard.heap.isEmpty()) {
+                            return removeMin(shard);
+                        }
+                    } finally {
+                        shard.lock.unlock();
+                    }
+                }
+            }
+            // Most heaps are empty or contended, so fall back to an exact removal.
+        }
+        lockAll();
+        try {
+            Shard<T> min = minShard();
+            if (min == null) {
+                throw new NoSuchElementException("PQ is empty");
+            }
+            return removeMin(min);
+        } finally {
+            unlockAll();
+        }
+    }
+
+    @Override
+    public void changePriority(T item, double priority) {
+        while (true) {
+            Shard<T> shard = item == null ? null : itemToShard.get(item);
+            if (shard == null) {
+                throw new NoSuchElementException("PQ does not contain " + item);
+            }
+            shard.lock.lock();
+            try {
+                // The item may have been removed (and possibly re-added elsewhere) before the lock was acquired.
+                if (itemToShard.get(item) == shard) {
+                    shard.heap.changePriority(item, priority);
+                    shard.updateMinPriority();
+                    return;
+                }
+            } finally {
+                shard.lock.unlock();
+            }
+        }
+    }
+
+    @Override
+    public int size() {
+        return size.get();
+    }
+
+    /**
+     * Returns true if {@code removeMin} always returns the true minimum.
+     *
+     * @return true if this priority queue is in strict mode.
+     */
+    public boolean isStrict() {
+        return strict;
+    }
+
+    // Removes and returns the minimum item from the non-empty shard. Requires holding the shard's lock.
+    private T removeMin(Shard<T> shard) {
+        T item = shard.heap.removeMin();
+        shard.updateMinPriority();
+        itemToShard.remove(item);
+        size.decrementAndGet();
+        return item;
+    }
+
+    // Returns the non-empty shard with the smallest minimum, or null if all shards are empty. Requires holding all locks.
+    private Shard<T> minShard() {
+        Shard<T> min = null;
+        for (Shard<T> shard : shards) {
+            if (!shard.heap.isEmpty() && (min == null || shard.minPriority < min.minPriority)) {
+                min = shard;
+            }
+        }
+        return min;
+    }
+
+    // Acquires every shard's lock in index order so that concurrent callers cannot deadlock.
+    private void lockAll() {
+        for (Shard<T> shard : shards) {
+            shard.lock.lock();
+        }
+    }
+
+    // Releases every shard's lock.
+    private void unlockAll() {
+        for (int i = shards.length - 1; i >= 0; i -= 1) {
+            shards[i].lock.unlock();
+        }
+    }
+
+    /**
+     * An internal heap guarded by its own lock.
+     *
+     * @param <T> the type of elements in this heap.
+     */
+    private static class Shard<T> {
+        private final ReentrantLock lock = new ReentrantLock();
+        private final OptimizedHeapMinPQ<T> heap = new OptimizedHeapMinPQ<>();
+        /**
+         * Cached minimum priority value, or positive infinity if empty, readable without holding the lock.
+         */
+        private volatile double minPriority = Double.POSITIVE_INFINITY;
+
+        // Refreshes the cached minimum priority value. Requires holding the lock.
+        private void updateMinPriority() {
+            minPriority = heap.isEmpty() ? Double.POSITIVE_INFINITY : heap.peekMinPriority();
+        }
+    }
+}
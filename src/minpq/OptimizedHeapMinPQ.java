@@ -42,6 +42,56 @@ public class OptimizedHeapMinPQ<T> implements ExtrinsicMinPQ<T> {
         swim(size - 1);
     }
 
+    /**
+     * {@inheritDoc}
+     * <p>
+     * When the new items outnumber the existing ones, they are appended in bulk and the whole heap is rebuilt bottom-up
+     * in linear time instead of swimming each item.
+     */
+    @Override
+    public void addAll(Map<? extends T, Double> items) {
+        for (T item : items.keySet()) {
+            if (item == null || contains(item)) {
+                throw new IllegalArgumentException("Already contains " + item);
+            }
+        }
+        if (items.size() <= size) {
+            ExtrinsicMinPQ.super.addAll(items);
+            return;
+        }
+        for (Map.Entry<? extends T, Double> entry : items.entrySet()) {
+            this.items.add(new PriorityNode<>(entry.getKey(), entry.getValue()));
+            itemToIndex.put(entry.getKey(), size);
+            size += 1;
+        }
+        heapify();
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * When changing each priority individually would cost more than rebuilding the heap, all priority values are
+     * updated in place and the whole heap is rebuilt bottom-up in linear time.
+     */
+    @Override
+    public void changePriorities(Map<? extends T, Double> priorities) {
+        for (T item : priorities.keySet()) {
+            if (!contains(item)) {
+                throw new NoSuchElementException("PQ does not contain " + item);
+            }
+        }
+        // Compare k swim-and-sink operations of about log(N) levels each against one linear-time rebuild.
+        int log = Integer.SIZE - Integer.numberOfLeadingZeros(size);
+        if ((long) priorities.size() * log <= size) {
+            ExtrinsicMinPQ.super.changePriorities(priorities);
+            return;
+        }
+        for (Map.Entry<? extends T, Double> entry : priorities.entrySet()) {
+            items.get(itemToIndex.get(entry.getKey())).setPriority(entry.getValue());
+        }
+        heapify();
+    }
+
     @Override
     public boolean contains(T item) {
         // TODO: Replace with your code
@@ -56,6 +106,65 @@ public class OptimizedHeapMinPQ<T> implements ExtrinsicMinPQ<T> {
         return items.get(0).item(); // I think this is correct bc isGreater in swim already take this into account.
     }
 
+    /**
+     * Returns the minimum priority value.
+     *
+     * @return the minimum priority value.
+     * @throws NoSuchElementException if this priority queue is empty.
+     */
+    double peekMinPriority() {
+        if (isEmpty()) {
+            throw new NoSuchElementException("PQ is empty");
+        }
+        return items.get(0).priority();
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Walks the heap with a small auxiliary heap of frontier indices: each index is returned only after its parent, so
+     * the frontier holds at most one more index than the number of items returned and the first <i>k</i> items cost
+     * O(k log k) time.
+     */
+    @Override
+    public Iterator<T> snapshotIterator() {
+        PriorityQueue<Integer> frontier = new PriorityQueue<>(
+                Comparator.comparingDouble(index -> items.get(index).priority())
+        );
+        if (size > 0) {
+            frontier.add(0);
+        }
+        return new Iterator<>() {
+            @Override
+            public boolean hasNext() {
+                return !frontier.isEmpty();
+            }
+
+            @Override
+            public T next() {
+                if (frontier.isEmpty()) {
+                    throw new NoSuchElementException();
+                }
+                int index = frontier.remove();
+                for (int child = 2 * index + 1; child <= 2 * index + 2 && child < size; child += 1) {
+                    frontier.add(child);
+                }
+                return items.get(index).item();
+            }
+        };
+    }
+
+    /**
+     * Adds every item in this heap with its priority value to the given priority queue.
+     *
+     * @param pq the destination priority queue.
+     */
+    void copyTo(ExtrinsicMinPQ<T> pq) {
+        for (int i = 0; i < size; i += 1) {
+            pq.add(items.get(i).item(), items.get(i).priority());
+        }
+    }
+
     @Override
     public T removeMin() {
         if (isEmpty()) {
@@ -139,12 +248,19 @@ public class OptimizedHeapMinPQ<T> implements ExtrinsicMinPQ<T> {
         items.set(i, items.get(j));
         items.set(j, temp);
         itemToIndex.replace(temp.item(), j);
-        itemToIndex.replace(items.get(j).item(), i);
+        itemToIndex.replace(items.get(i).item(), i);
+    }
+
+    // Floyd's bottom-up heap construction: sink every non-leaf, starting from the last one.
+    private void heapify() {
+        for (int i = size / 2 - 1; i >= 0; i -= 1) {
+            sink(i);
+        }
     }
 
     // Sink the item at the given index until the heap invariant is satisfied.
     private void sink(int index) {
-        while ((2 * index) + 2 < size) {
+        while ((2 * index) + 1 < size) {
             int leftIndex = (2 * index) + 1;
             int rightIndex = leftIndex + 1;
 
@@ -0,0 +1,227 @@
+package minpq;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.PriorityQueue;
+
+/**
+ * Pairing heap implementation of the {@link ExtrinsicMinPQ} interface. Each item maps to a node handle so decreasing
+ * a priority cuts the node's subtree and links it with the root in O(1) amortized time.
+ *
+ * @param <T> the type of elements in this priority queue.
+ * @see ExtrinsicMinPQ
+ */
+public class PairingHeapMinPQ<T> implements ExtrinsicMinPQ<T> {
+    /**
+     * {@link Map} of each item to its node in the heap.
+     */
+    private final Map<T, Node<T>> itemToNode;
+    /**
+     * Reusable scratch list of subtrees for the two-pass merge in {@link #mergePairs(Node)}.
+     */
+    private final List<Node<T>> pairs;
+    /**
+     * The root of the heap: the node with the minimum priority value.
+     */
+    private Node<T> root;
+
+    /**
+     * Constructs an empty instance.
+     */
+    public PairingHeapMinPQ() {
+        itemToNode = new HashMap<>();
+        pairs = new ArrayList<>();
+    }
+
+    @Override
+    public void add(T item, double priority) {
+        if (item == null) {
+            throw new IllegalArgumentException("Null item");
+        }
+        if (contains(item)) {
+            throw new IllegalArgumentException("Already contains " + item);
+        }
+        Node<T> node = new Node<>(item, priority);
+        itemToNode.put(item, node);
+        root = link(root, node);
+    }
+
+    @Override
+    public boolean contains(T item) {
+        return itemToNode.containsKey(item);
+    }
+
+    @Override
+    public T peekMin() {
+        if (isEmpty()) {
+            throw new NoSuchElementException("PQ is empty");
+        }
+        return root.item;
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Walks the heap with a small auxiliary heap of frontier nodes: each node is returned only after its parent, and
+     * returning a node adds all of its children to the frontier.
+     */
+    @Override
+    public Iterator<T> snapshotIterator() {
+        PriorityQueue<Node<T>> frontier = new PriorityQueue<>(Comparator.comparingDouble(node -> node.priority));
+        if (root != null) {
+            frontier.add(root);
+        }
+        return new Iterator<>() {
+            @Override
+            public boolean hasNext() {
+                return !frontier.isEmpty();
+            }
+
+            @Override
+            public T next() {
+                if (frontier.isEmpty()) {
+                    throw new NoSuchElementException();
+                }
+                Node<T> node = frontier.remove();
+                for (Node<T> child = node.child; child != null; child = child.next) {
+                    frontier.add(child);
+                }
+                return node.item;
+            }
+        };
+    }
+
+    @Override
+    public T removeMin() {
+        if (isEmpty()) {
+            throw new NoSuchElementException("PQ is empty");
+        }
+        Node<T> min = root;
+        root = mergePairs(min.child);
+        itemToNode.remove(min.item);
+        return min.item;
+    }
+
+    @Override
+    public void changePriority(T item, double priority) {
+        Node<T> node = itemToNode.get(item);
+        if (node == null) {
+            throw new NoSuchElementException("PQ does not contain " + item);
+        }
+        if (priority < node.priority) {
+            // Decrease-key: the subtree under node stays heap-ordered, so cut it and link it with the root.
+            node.priority = priority;
+            if (node != root) {
+                cut(node);
+                root = link(root, node);
+            }
+        } else if (priority > node.priority) {
+            // Increase-key: the children may now be smaller than node, so detach them before reinserting node.
+            Node<T> children = mergePairs(node.child);
+            node.child = null;
+            if (node == root) {
+                root = children;
+            } else {
+                cut(node);
+                root = link(root, children);
+            }
+            node.priority = priority;
+            root = link(root, node);
+        }
+    }
+
+    @Override
+    public int size() {
+        return itemToNode.size();
+    }
+
+    // Returns the root of the heap formed by making the larger of the two roots the leftmost child of the smaller.
+    // Either argument may be null.
+    private static <T> Node<T> link(Node<T> a, Node<T> b) {
+        if (a == null) {
+            return b;
+        } else if (b == null) {
+            return a;
+        }
+        if (b.priority < a.priority) {
+            Node<T> temp = a;
+            a = b;
+            b = temp;
+        }
+        b.prev = a;
+        b.next = a.child;
+        if (a.child != null) {
+            a.child.prev = b;
+        }
+        a.child = b;
+        a.next = null;
+        a.prev = null;
+        return a;
+    }
+
+    // Detaches the node (and its subtree) from its parent and siblings.
+    private static <T> void cut(Node<T> node) {
+        if (node.prev.child == node) {
+            node.prev.child = node.next;
+        } else {
+            node.prev.next = node.next;
+        }
+        if (node.next != null) {
+            node.next.prev = node.prev;
+        }
+        node.prev = null;
+        node.next = null;
+    }
+
+    // Merges a list of sibling subtrees into one heap with the standard two-pass pairing strategy and returns its
+    // root: link adjacent pairs left to right, then link the results right to left.
+    private Node<T> mergePairs(Node<T> first) {
+        if (first == null) {
+            return null;
+        }
+        pairs.clear();
+        Node<T> curr = first;
+        while (curr != null) {
+            Node<T> a = curr;
+            Node<T> b = a.next;
+            curr = b == null ? null : b.next;
+            a.next = null;
+            a.prev = null;
+            if (b != null) {
+                b.next = null;
+                b.prev = null;
+            }
+            pairs.add(link(a, b));
+        }
+        Node<T> result = pairs.get(pairs.size() - 1);
+        for (int i = pairs.size() - 2; i >= 0; i -= 1) {
+            result = link(pairs.get(i), result);
+        }
+        pairs.clear();
+        return result;
+    }
+
+    /**
+     * A heap node in leftmost-child, right-sibling form. The {@code prev} reference points to the previous sibling, or
+     * to the parent if this node is the leftmost child.
+     *
+     * @param <T> the type of element represented by this node.
+     */
+    private static class Node<T> {
+        private final T item;
+        private double priority;
+        private Node<T> child;
+        private Node<T> next;
+        private Node<T> prev;
+
+        Node(T item, double priority) {
+            this.item = item;
+            this.priority = priority;
+        }
+    }
+}
@@ -0,0 +1,259 @@
+package minpq;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+/**
+ * Monotone radix heap implementation of the {@link ExtrinsicMinPQ} interface. Items are bucketed by the most significant
+ * bit in which their priority differs from the last removed minimum, so each item moves to a lower bucket at most 64
+ * times before it is removed.
+ * <p>
+ * Radix heaps only support <b>monotone</b> workloads such as Dijkstra's algorithm: priority values added or changed
+ * must not be less than the priority of the last item returned by {@link #removeMin()}. This restriction resets
+ * whenever the priority queue becomes empty.
+ *
+ * @param <T> the type of elements in this priority queue.
+ * @see ExtrinsicMinPQ
+ */
+public class RadixHeapMinPQ<T> implements ExtrinsicMinPQ<T> {
+    /**
+     * Number of buckets: bucket 0 holds items equal to the last minimum and bucket <i>i</i> holds items whose most
+     * significant differing bit is bit <i>i - 1</i>.
+     */
+    private static final int NUM_BUCKETS = Long.SIZE + 1;
+    /**
+     * Buckets of entries, indexed by the most significant differing bit.
+     */
+    private final List<Entry<T>>[] buckets;
+    /**
+     * {@link Map} of each item to its entry in the buckets.
+     */
+    private final Map<T, Entry<T>> itemToEntry;
+    /**
+     * Sortable bit pattern of the last removed minimum priority value.
+     */
+    private long last;
+
+    /**
+     * Constructs an empty instance.
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public RadixHeapMinPQ() {
+        buckets = new List[NUM_BUCKETS];
+        for (int i = 0; i < NUM_BUCKETS; i += 1) {
+            buckets[i] = new ArrayList<>();
+        }
+        itemToEntry = new HashMap<>();
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @throws IllegalArgumentException if item is null or already present, or if the priority value is NaN or less than
+     *                                  the last removed minimum.
+     */
+    @Override
+    public void add(T item, double priority) {
+        if (item == null) {
+            throw new IllegalArgumentException("Null item");
+        }
+        if (contains(item)) {
+            throw new IllegalArgumentException("Already contains " + item);
+        }
+        Entry<T> entry = new Entry<>(item, checkedKey(priority));
+        itemToEntry.put(item, entry);
+        insert(entry);
+    }
+
+    @Override
+    public boolean contains(T item) {
+        return itemToEntry.containsKey(item);
+    }
+
+    @Override
+    public T peekMin() {
+        if (isEmpty()) {
+            throw new NoSuchElementException("PQ is empty");
+        }
+        if (!buckets[0].isEmpty()) {
+            return buckets[0].get(buckets[0].size() - 1).item;
+        }
+        // Scan without redistributing: that would raise the monotone floor above the last removed minimum.
+        return minOf(buckets[firstNonEmptyBucket()]).item;
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Every key in a bucket is less than every key in the buckets after it, so the buckets are walked in order and each
+     * one is copied and sorted only when the iterator reaches it.
+     */
+    @Override
+    public Iterator<T> snapshotIterator() {
+        return new Iterator<>() {
+            private final List<Entry<T>> sorted = new ArrayList<>();
+            private int bucket = 0;
+            private int index = 0;
+
+            @Override
+            public boolean hasNext() {
+                while (index == sorted.size() && bucket < NUM_BUCKETS) {
+                    sorted.clear();
+                    sorted.addAll(buckets[bucket]);
+                    sorted.sort((a, b) -> Long.compareUnsigned(a.key, b.key));
+                    bucket += 1;
+                    index = 0;
+                }
+                return index < sorted.size();
+            }
+
+            @Override
+            public T next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                T item = sorted.get(index).item;
+                index += 1;
+                return item;
+            }
+        };
+    }
+
+    @Override
+    public T removeMin() {
+        if (isEmpty()) {
+            throw new NoSuchElementException("PQ is empty");
+        }
+        List<Entry<T>> minBucket = minBucket();
+        Entry<T> min = minBucket.remove(minBucket.size() - 1);
+        itemToEntry.remove(min.item);
+        if (isEmpty()) {
+            last = 0;
+        }
+        return min.item;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @throws IllegalArgumentException if the priority value is NaN or less than the last removed minimum.
+     */
+    @Override
+    public void changePriority(T item, double priority) {
+        Entry<T> entry = itemToEntry.get(item);
+        if (entry == null) {
+            throw new NoSuchElementException("PQ does not contain " + item);
+        }
+        long key = checkedKey(priority);
+        remove(entry);
+        entry.key = key;
+        insert(entry);
+    }
+
+    @Override
+    public int size() {
+        return itemToEntry.size();
+    }
+
+    /**
+     * Returns the bit pattern of the priority value transformed so that unsigned comparison of the result agrees with
+     * numeric comparison of the priority values.
+     *
+     * @param priority the priority value.
+     * @return the sortable bit pattern for the priority value.
+     */
+    private static long sortableKey(double priority) {
+        long bits = Double.doubleToLongBits(priority);
+        // Negative values compare in reverse, so flip all their bits; non-negative values just need the sign bit set.
+        return bits < 0 ? ~bits : bits | Long.MIN_VALUE;
+    }
+
+    // Returns the sortable key for the priority, throwing an exception if it would violate monotonicity.
+    private long checkedKey(double priority) {
+        if (Double.isNaN(priority)) {
+            throw new IllegalArgumentException("NaN priority");
+        }
+        long key = sortableKey(priority);
+        if (Long.compareUnsigned(key, last) < 0) {
+            throw new IllegalArgumentException("Priority " + priority + " is less than the last removed minimum");
+        }
+        return key;
+    }
+
+    // Returns the bucket index for the given key relative to the last removed minimum.
+    private int bucketOf(long key) {
+        return Long.SIZE - Long.numberOfLeadingZeros(key ^ last);
+    }
+
+    // Appends the entry to its bucket.
+    private void insert(Entry<T> entry) {
+        entry.bucket = bucketOf(entry.key);
+        entry.index = buckets[entry.bucket].size();
+        buckets[entry.bucket].add(entry);
+    }
+
+    // Removes the entry from its bucket by moving the bucket's last entry into its slot.
+    private void remove(Entry<T> entry) {
+        List<Entry<T>> bucket = buckets[entry.bucket];
+        Entry<T> moved = bucket.remove(bucket.size() - 1);
+        if (moved != entry) {
+            bucket.set(entry.index, moved);
+            moved.index = entry.index;
+        }
+    }
+
+    // Returns bucket 0 after refilling it if necessary. Refilling takes the first non-empty bucket, makes its minimum
+    // the new last minimum, and redistributes its entries into strictly lower buckets. Requires a non-empty heap.
+    private List<Entry<T>> minBucket() {
+        if (buckets[0].isEmpty()) {
+            List<Entry<T>> bucket = buckets[firstNonEmptyBucket()];
+            last = minOf(bucket).key;
+            for (Entry<T> entry : bucket) {
+                insert(entry);
+            }
+            bucket.clear();
+        }
+        return buckets[0];
+    }
+
+    // Returns the index of the first non-empty bucket. Requires a non-empty heap.
+    private int firstNonEmptyBucket() {
+        int i = 0;
+        while (buckets[i].isEmpty()) {
+            i += 1;
+        }
+        return i;
+    }
+
+    // Returns the entry with the smallest key in the non-empty bucket.
+    private static <T> Entry<T> minOf(List<Entry<T>> bucket) {
+        Entry<T> min = bucket.get(0);
+        for (Entry<T> entry : bucket) {
+            if (Long.compareUnsigned(entry.key, min.key) < 0) {
+                min = entry;
+            }
+        }
+        return min;
+    }
+
+    /**
+     * An item and the sortable bit pattern of its priority value along with its current location in the buckets.
+     *
+     * @param <T> the type of element represented by this entry.
+     */
+    private static class Entry<T> {
+        private final T item;
+        private long key;
+        private int bucket;
+        private int index;
+
+        Entry(T item, long key) {
+            this.item = item;
+            this.key = key;
+        }
+    }
+}
@@ -1,6 +1,8 @@
 package minpq;
 
 import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
 import java.util.List;
 import java.util.NoSuchElementException;
 
@@ -65,6 +67,18 @@ public class  UnsortedArrayMinPQ<T> implements ExtrinsicMinPQ<T> {
         return minValue;
     }
 
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Sorts a copy of the item-priority pairs in O(N log N) time when the iterator is created.
+     */
+    @Override
+    public Iterator<T> snapshotIterator() {
+        List<PriorityNode<T>> sorted = new ArrayList<>(items);
+        sorted.sort(Comparator.comparingDouble(PriorityNode::priority));
+        return sorted.stream().map(PriorityNode::item).iterator();
+    }
+
     @Override
     public T removeMin() {
         if (isEmpty()) {
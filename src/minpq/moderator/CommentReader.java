@@ -0,0 +1,259 @@
+package minpq.moderator;
+
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Background reader for gzipped TSV files of toxicity values and comments. A dedicated thread decompresses the file and
+ * parses each line directly from the decompressed bytes into a bounded buffer, so the consumer only ever drains comments
+ * that are already parsed and ingestion is limited by decompression speed rather than by per-line {@link
+ * java.util.Scanner} objects.
+ */
+class CommentReader {
+    /**
+     * Number of decompressed bytes read from the input at a time.
+     */
+    private static final int CHUNK_SIZE = 1 << 16;
+    /**
+     * Exact powers of ten for the decimal parsing fast path: each can be represented as a {@code double} exactly.
+     */
+    private static final double[] POWERS_OF_TEN = {
+            1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11,
+            1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22
+    };
+    /**
+     * Largest mantissa that can be represented as a {@code double} exactly.
+     */
+    private static final long MAX_EXACT_MANTISSA = 1L << 53;
+    /**
+     * Sentinel placed in the buffer after the last comment, or after a failure.
+     */
+    private static final Comment END = new Comment(Double.NaN, null);
+    /**
+     * Bounded buffer of parsed comments shared by the reader thread and the consumer.
+     */
+    private final BlockingQueue<Comment> buffer;
+    /**
+     * Comments drained from the buffer in one batch.
+     */
+    private final List<Comment> batch;
+    /**
+     * The exception that stopped the reader thread, if any.
+     */
+    private volatile IOException failure;
+    /**
+     * True once the consumer has drained the end sentinel.
+     */
+    private boolean finished;
+
+    /**
+     * Constructs a reader with an empty buffer of the given capacity.
+     *
+     * @param capacity the maximum number of parsed comments buffered ahead of the consumer.
+     */
+    private CommentReader(int capacity) {
+        buffer = new ArrayBlockingQueue<>(capacity);
+        batch = new ArrayList<>();
+    }
+
+    /**
+     * Starts reading the gzipped TSV file at the given path on a background thread, skipping its header line.
+     *
+     * @param path     the path to the gzipped TSV file of toxicity values and comments.
+     * @param capacity the maximum number of parsed comments buffered ahead of the consumer.
+     * @return the reader from which to take the parsed comments.
+     * @throws IOException              if the file cannot be opened.
+     * @throws IllegalArgumentException if the capacity is not positive.
+     */
+    static CommentReader start(String path, int capacity) throws IOException {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Capacity must be positive but was " + capacity);
+        }
+        CommentReader reader = new CommentReader(capacity);
+        InputStream in = new GZIPInputStream(new FileInputStream(path), CHUNK_SIZE);
+        Thread thread = new Thread(() -> reader.run(in), "comment-reader");
+        thread.setDaemon(true);
+        thread.start();
+        return reader;
+    }
+
+    /**
+     * Moves up to <i>N</i> comments into the given collection, waiting for the reader thread only if fewer than
+     * <i>N</i> comments are already parsed.
+     *
+     * @param out the destination collection.
+     * @param n   the maximum number of comments to take.
+     * @return the number of comments taken, which is less than <i>N</i> only if the end of the file was reached.
+     * @throws IOException          if the reader thread failed to read or parse the file.
+     * @throws InterruptedException if interrupted while waiting for the reader thread.
+     */
+    int take(Collection<? super Comment> out, int n) throws IOException, InterruptedException {
+        int taken = 0;
+        while (taken < n && !finished) {
+            batch.clear();
+            if (buffer.drainTo(batch, n - taken) == 0) {
+                batch.add(buffer.take());
+            }
+            for (Comment comment : batch) {
+                // The end sentinel is the last element the reader thread ever adds.
+                if (comment == END) {
+                    finished = true;
+                    break;
+                }
+                out.add(comment);
+                taken += 1;
+            }
+        }
+        if (finished && failure != null) {
+            throw new IOException("Failed to read comments", failure);
+        }
+        return taken;
+    }
+
+    // Parses the input into the buffer, then marks the end of the buffer whether or not parsing succeeded.
+    private void run(InputStream in) {
+        try (in) {
+            parse(in);
+        } catch (IOException e) {
+            failure = e;
+        } catch (InterruptedException e) {
+            return;
+        }
+        try {
+            buffer.put(END);
+        } catch (InterruptedException e) {
+            // The consumer is gone, so there is no one left to notify.
+        }
+    }
+
+    // Splits the decompressed bytes into lines and parses every line after the header.
+    private void parse(InputStream in) throws IOException, InterruptedException {
+        byte[] chunk = new byte[CHUNK_SIZE];
+        byte[] line = new byte[256];
+        int length = 0;
+        boolean header = true;
+        int n;
+        while ((n = in.read(chunk)) != -1) {
+            int start = 0;
+            for (int i = 0; i < n; i += 1) {
+                if (chunk[i] != '\n') {
+                    continue;
+                }
+                // Parse directly from the chunk unless the line began in an earlier chunk.
+                if (length == 0) {
+                    if (!header) {
+                        buffer.put(parseLine(chunk, start, i));
+                    }
+                } else {
+                    line = append(line, length, chunk, start, i);
+                    length += i - start;
+                    if (!header) {
+                        buffer.put(parseLine(line, 0, length));
+                    }
+                    length = 0;
+                }
+                header = false;
+                start = i + 1;
+            }
+            line = append(line, length, chunk, start, n);
+            length += n - start;
+        }
+        if (length > 0 && !header) {
+            buffer.put(parseLine(line, 0, length));
+        }
+    }
+
+    // Appends bytes [from, to) of the source to the first length bytes of the line, growing the line if needed.
+    private static byte[] append(byte[] line, int length, byte[] source, int from, int to) {
+        int needed = length + (to - from);
+        if (needed > line.length) {
+            line = Arrays.copyOf(line, Math.max(needed, 2 * line.length));
+        }
+        System.arraycopy(source, from, line, length, to - from);
+        return line;
+    }
+
+    // Parses bytes [from, to) as a toxicity value, a tab, and a comment ending at the next tab or the end of the line.
+    private static Comment parseLine(byte[] bytes, int from, int to) throws IOException {
+        if (to > from && bytes[to - 1] == '\r') {
+            to -= 1;
+        }
+        int tab = indexOf(bytes, '\t', from, to);
+        if (tab == to) {
+            throw new IOException("Missing tab in line: " + new String(bytes, from, to - from, StandardCharsets.UTF_8));
+        }
+        int end = indexOf(bytes, '\t', tab + 1, to);
+        double toxicity = parseDouble(bytes, from, tab);
+        String comment = new String(bytes, tab + 1, end - tab - 1, StandardCharsets.UTF_8);
+        return new Comment(toxicity, comment);
+    }
+
+    // Returns the index of the first occurrence of b in bytes [from, to), or to if there is none.
+    private static int indexOf(byte[] bytes, char b, int from, int to) {
+        for (int i = from; i < to; i += 1) {
+            if (bytes[i] == b) {
+                return i;
+            }
+        }
+        return to;
+    }
+
+    // Parses bytes [from, to) as a double. Plain decimals whose digits fit in a double exactly are computed with one
+    // correctly-rounded division, which gives the same result as Double.parseDouble; anything else falls back to it.
+    private static double parseDouble(byte[] bytes, int from, int to) throws IOException {
+        int i = from;
+        boolean negative = i < to && bytes[i] == '-';
+        if (negative) {
+            i += 1;
+        }
+        long mantissa = 0;
+        int digits = 0;
+        int fractionDigits = -1;
+        for (; i < to; i += 1) {
+            byte b = bytes[i];
+            if (b == '.' && fractionDigits < 0) {
+                fractionDigits = 0;
+            } else if ('0' <= b && b <= '9' && mantissa < MAX_EXACT_MANTISSA / 10) {
+                mantissa = 10 * mantissa + (b - '0');
+                digits += 1;
+                if (fractionDigits >= 0) {
+                    fractionDigits += 1;
+                }
+            } else {
+                break;
+            }
+        }
+        if (i == to && digits > 0 && fractionDigits < POWERS_OF_TEN.length) {
+            double value = mantissa / POWERS_OF_TEN[Math.max(fractionDigits, 0)];
+            return negative ? -value : value;
+        }
+        String s = new String(bytes, from, to - from, StandardCharsets.US_ASCII).strip();
+        try {
+            return Double.parseDouble(s);
+        } catch (NumberFormatException e) {
+            throw new IOException("Invalid toxicity value: " + s, e);
+        }
+    }
+
+    /**
+     * A comment paired with its toxicity value.
+     */
+    static class Comment {
+        final double toxicity;
+        final String text;
+
+        Comment(double toxicity, String text) {
+            this.toxicity = toxicity;
+            this.text = text;
+        }
+    }
+}
@@ -0,0 +1,230 @@
+package minpq.moderator;
+
+import minpq.*;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+
+/**
+ * Check that a {@link DurableMinPQ} dropped without closing, as in a crash, recovers exactly the changes that were
+ * durable, comparing the recovered priority queue against a reference built from those changes.
+ * <p>
+ * The test mirrors the durability rules of {@link DurableMinPQ}: a change is durable once its group of
+ * {@code GROUP_COMMIT_SIZE} records is complete, once a snapshot is written, or once {@link DurableMinPQ#sync()} is
+ * called. Records written after that stay in the output buffer, so dropping the instance loses them just like a crash.
+ *
+ * @see DurableMinPQ
+ * @see DoubleMapMinPQ
+ */
+class DurableMinPQMultiTest {
+    /**
+     * Seed for the random number generator, so failures are reproducible.
+     */
+    private static final long SEED = 373;
+    /**
+     * Number of log records written between each force to disk.
+     */
+    private static final int GROUP_COMMIT_SIZE = DurableMinPQ.DEFAULT_GROUP_COMMIT_SIZE;
+    /**
+     * Number of log records written between each snapshot, small enough that every round crosses a snapshot.
+     */
+    private static final int SNAPSHOT_INTERVAL = 5 * GROUP_COMMIT_SIZE;
+    /**
+     * Number of crash and recovery rounds.
+     */
+    private static final int NUM_ROUNDS = 20;
+    /**
+     * Maximum number of operations in each round.
+     */
+    private static final int MAX_OPERATIONS = 1000;
+    /**
+     * Items are integers in [0, NUM_ITEMS).
+     */
+    private static final int NUM_ITEMS = 200;
+
+    /**
+     * The random number generator for operations and priorities.
+     */
+    private static final Random random = new Random(SEED);
+    /**
+     * {@link Map} of items to their current priority values, including changes that are not durable yet.
+     */
+    private static final Map<Integer, Double> current = new HashMap<>();
+    /**
+     * {@link Map} of items to their priority values as of the last durable change.
+     */
+    private static final Map<Integer, Double> durable = new HashMap<>();
+    /**
+     * Number of records written since the last force to disk, mirroring the instance under test.
+     */
+    private static int unsynced;
+    /**
+     * Number of records written since the last snapshot, mirroring the instance under test.
+     */
+    private static int sinceSnapshot;
+
+    public static void main(String[] args) throws IOException {
+        Path directory = Files.createTempDirectory("minpq");
+        try {
+            // Test 1: Crash after a random number of operations, crossing snapshot boundaries, and with explicit syncs.
+            DurableMinPQ<Integer> pq = open(directory);
+            boolean passed = true;
+            for (int round = 0; round < NUM_ROUNDS && passed; round += 1) {
+                int numOperations = random.nextInt(MAX_OPERATIONS);
+                for (int i = 0; i < numOperations; i += 1) {
+                    if (random.nextInt(100) == 0) {
+                        sync(pq);
+                    } else {
+                        step(pq);
+                    }
+                }
+                pq = open(directory);
+                passed = sameContents(durable, pq);
+            }
+            report("recovery [after crash]", passed);
+
+            // Test 2: Append a torn record, which recovery should discard before appending new records after it.
+            step(pq);
+            sync(pq);
+            appendGarbage(directory.resolve("minpq.log"));
+            pq = open(directory);
+            passed = sameContents(durable, pq);
+            for (int i = 0; i < GROUP_COMMIT_SIZE / 2; i += 1) {
+                step(pq);
+            }
+            pq.close();
+            markDurable();
+            pq = open(directory);
+            report("recovery [after torn record]", passed && sameContents(durable, pq));
+
+            // Test 3: Corrupt the checksum of the last record, which should be discarded along with its change.
+            if (sinceSnapshot + 2 >= SNAPSHOT_INTERVAL) {
+                // Write the snapshot now so the corrupted record stays in the log.
+                pq.snapshot();
+                sinceSnapshot = 0;
+                markDurable();
+            }
+            step(pq);
+            sync(pq);
+            Map<Integer, Double> before = new HashMap<>(current);
+            step(pq);
+            pq.sync();
+            flipLastByte(directory.resolve("minpq.log"));
+            pq = open(directory);
+            report("recovery [after corrupt record]", sameContents(before, pq));
+
+            // Test 4: Crash right after a snapshot, with the log either truncated or still holding the records that the
+            // snapshot already contains, which recovery should skip rather than apply twice.
+            for (int i = 0; i < GROUP_COMMIT_SIZE / 2; i += 1) {
+                step(pq);
+            }
+            sync(pq);
+            Path log = directory.resolve("minpq.log");
+            byte[] records = Files.readAllBytes(log);
+            pq.snapshot();
+            markDurable();
+            pq = open(directory);
+            passed = Files.size(log) == 0 && sameContents(durable, pq);
+            Files.write(log, records);
+            pq = open(directory);
+            report("recovery [after snapshot]", passed && records.length > 0 && sameContents(durable, pq));
+            pq.close();
+        } finally {
+            delete(directory);
+        }
+    }
+
+    // Opens a new instance on the directory, dropping any previous instance without closing it, and resets the
+    // mirrored counters and current contents to the durable state.
+    private static DurableMinPQ<Integer> open(Path directory) throws IOException {
+        current.clear();
+        current.putAll(durable);
+        unsynced = 0;
+        sinceSnapshot = 0;
+        return new DurableMinPQ<>(new OptimizedHeapMinPQ<>(), directory, String::valueOf, Integer::valueOf,
+                GROUP_COMMIT_SIZE, SNAPSHOT_INTERVAL);
+    }
+
+    // Applies one random change to both the instance and the current contents, then records the current contents as
+    // durable if the change completed a group or triggered a snapshot.
+    private static void step(DurableMinPQ<Integer> pq) {
+        int item = random.nextInt(NUM_ITEMS);
+        double priority = random.nextDouble();
+        if (!pq.contains(item) && (pq.isEmpty() || random.nextBoolean())) {
+            pq.add(item, priority);
+            current.put(item, priority);
+        } else if (pq.contains(item)) {
+            pq.changePriority(item, priority);
+            current.put(item, priority);
+        } else {
+            current.remove(pq.removeMin());
+        }
+        unsynced += 1;
+        sinceSnapshot += 1;
+        if (sinceSnapshot >= SNAPSHOT_INTERVAL) {
+            sinceSnapshot = 0;
+            markDurable();
+        } else if (unsynced >= GROUP_COMMIT_SIZE) {
+            markDurable();
+        }
+    }
+
+    // Forces the instance to disk and records the current contents as durable.
+    private static void sync(DurableMinPQ<Integer> pq) {
+        pq.sync();
+        markDurable();
+    }
+
+    // Records the current contents as durable, as the instance does whenever it forces its log to disk.
+    private static void markDurable() {
+        unsynced = 0;
+        durable.clear();
+        durable.putAll(current);
+    }
+
+    // Returns true if the priority queue holds exactly the expected items, in order of their expected priorities.
+    private static boolean sameContents(Map<Integer, Double> expected, DurableMinPQ<Integer> pq) {
+        ExtrinsicMinPQ<Integer> reference = new DoubleMapMinPQ<>();
+        reference.addAll(expected);
+        List<Integer> refOutput = new ArrayList<>();
+        reference.removeMin(reference.size(), refOutput);
+        return refOutput.equals(pq.peekMin(pq.size()));
+    }
+
+    // Appends the start of a record whose length and checksum cannot be valid, as if a crash interrupted the write.
+    private static void appendGarbage(Path log) throws IOException {
+        byte[] garbage = new byte[13];
+        random.nextBytes(garbage);
+        Files.write(log, garbage, StandardOpenOption.APPEND);
+    }
+
+    // Inverts every bit of the last byte of the file, which is part of the checksum of the last record.
+    private static void flipLastByte(Path file) throws IOException {
+        try (RandomAccessFile raf = new RandomAccessFile(file.toFile(), "rw")) {
+            raf.seek(raf.length() - 1);
+            int last = raf.read();
+            raf.seek(raf.length() - 1);
+            raf.write(~last);
+        }
+    }
+
+    // Deletes the files in the directory, then the directory itself.
+    private static void delete(Path directory) throws IOException {
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory)) {
+            for (Path file : files) {
+                Files.delete(file);
+            }
+        }
+        Files.delete(directory);
+    }
+
+    // Prints whether the named test passed, in the same format as the other multi-tests.
+    private static void report(String test, boolean passed) {
+        System.out.println("DurableMinPQ " + test + (passed ? " PASS!" : " FAIL!"));
+    }
+}
@@ -0,0 +1,178 @@
+package minpq.moderator;
+
+import minpq.*;
+import minpq.HandleMinPQ.Handle;
+
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.util.*;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Compare {@link HandleHeapMinPQ} against the {@link DoubleMapMinPQ} reference to check that they compute the same
+ * values, and that handles stop referring to their items once they are removed.
+ *
+ * @see HandleMinPQ
+ * @see HandleHeapMinPQ
+ * @see DoubleMapMinPQ
+ */
+class HandleHeapMinPQMultiTest {
+    /**
+     * Path to the toxic content.
+     */
+    private static final String PATH = "data/toxic.tsv.gz";
+    /**
+     * Seed for the random number generator, so failures are reproducible.
+     */
+    private static final long SEED = 373;
+
+    /**
+     * Returns true if the handle no longer refers to an item in the priority queue: {@code contains} returns false and
+     * every operation on the handle throws {@link NoSuchElementException}.
+     *
+     * @param pq     the priority queue.
+     * @param handle the handle to check.
+     * @return true if the handle is stale.
+     */
+    private static boolean isStale(HandleMinPQ<String> pq, Handle<String> handle) {
+        if (pq.contains(handle)) {
+            return false;
+        }
+        int size = pq.size();
+        int thrown = 0;
+        try {
+            pq.priorityOf(handle);
+        } catch (NoSuchElementException e) {
+            thrown += 1;
+        }
+        try {
+            pq.changePriority(handle, 0.0);
+        } catch (NoSuchElementException e) {
+            thrown += 1;
+        }
+        try {
+            pq.remove(handle);
+        } catch (NoSuchElementException e) {
+            thrown += 1;
+        }
+        return thrown == 3 && pq.size() == size;
+    }
+
+    /**
+     * Removes the item from the reference priority queue, which can only remove its minimum, by making it the minimum.
+     *
+     * @param ref  the reference priority queue.
+     * @param item the item to remove.
+     */
+    private static void removeFromReference(ExtrinsicMinPQ<String> ref, String item) {
+        ref.changePriority(item, Double.NEGATIVE_INFINITY);
+        ref.removeMin();
+    }
+
+    public static void main(String[] args) throws IOException {
+        // We go toxicity -> comment because all toxicity values used for testing need to be unique.
+        Map<Double, String> toxic = new LinkedHashMap<>();
+
+        Scanner scanner = new Scanner(new GZIPInputStream(new FileInputStream(PATH)));
+        scanner.nextLine(); // Skip header
+        while (scanner.hasNextLine()) {
+            Scanner line = new Scanner(scanner.nextLine()).useDelimiter("\t");
+            double toxicity = line.nextDouble();
+            String comment = line.next();
+            toxic.put(toxicity, comment);
+        }
+
+        System.out.println(toxic.size() + " comments loaded");
+        System.out.println();
+
+        String name = "HandleHeapMinPQ";
+        Random random = new Random(SEED);
+        ExtrinsicMinPQ<String> referencePQ = new DoubleMapMinPQ<>();
+        HandleMinPQ<String> testPQ = new HandleHeapMinPQ<>();
+        Map<String, Handle<String>> handles = new LinkedHashMap<>();
+        for (double toxicity : toxic.keySet()) {
+            String comment = toxic.get(toxicity);
+            referencePQ.add(comment, -toxicity);
+            handles.put(comment, testPQ.add(comment, -toxicity));
+        }
+
+        // Test 1: Every handle refers to its item with its priority value.
+        boolean passed = referencePQ.size() == testPQ.size();
+        for (double toxicity : toxic.keySet()) {
+            Handle<String> handle = handles.get(toxic.get(toxicity));
+            passed = passed && testPQ.contains(handle) && handle.item().equals(toxic.get(toxicity))
+                    && testPQ.priorityOf(handle) == -toxicity;
+        }
+        // A handle from another priority queue does not refer to an item in this one.
+        Handle<String> foreign = new HandleHeapMinPQ<String>().add(toxic.values().iterator().next(), 0.0);
+        passed = passed && isStale(testPQ, foreign);
+        System.out.println(name + " contains() and priorityOf() " + (passed ? "PASS" : "FAIL") + " [after insertion]!");
+
+        // Test 2: See if peekMin() is working.
+        if (referencePQ.peekMin().equals(testPQ.peekMin()))
+            System.out.println(name + " peekMin() PASS!");
+        else
+            System.out.println(name + " peekMin() FAIL!");
+
+        // Test 3: Remove a random half of the items through their handles, which should then be stale.
+        List<String> comments = new ArrayList<>(handles.keySet());
+        Collections.shuffle(comments, random);
+        List<String> removed = comments.subList(0, comments.size() / 2);
+        List<String> remaining = comments.subList(comments.size() / 2, comments.size());
+        passed = true;
+        for (String comment : removed) {
+            removeFromReference(referencePQ, comment);
+            testPQ.remove(handles.get(comment));
+            passed = passed && isStale(testPQ, handles.get(comment));
+        }
+        for (String comment : remaining) {
+            passed = passed && testPQ.contains(handles.get(comment));
+        }
+        passed = passed && referencePQ.size() == testPQ.size() && referencePQ.peekMin().equals(testPQ.peekMin());
+        System.out.println(name + " remove() " + (passed ? "PASS" : "FAIL") + "!");
+
+        // Test 4: Shuffle the priority values of the remaining items through their handles.
+        List<Double> priorities = new ArrayList<>();
+        for (String comment : remaining) {
+            priorities.add(testPQ.priorityOf(handles.get(comment)));
+        }
+        Collections.shuffle(priorities, random);
+        passed = true;
+        for (int i = 0; i < remaining.size(); i += 1) {
+            Handle<String> handle = handles.get(remaining.get(i));
+            referencePQ.changePriority(remaining.get(i), priorities.get(i));
+            testPQ.changePriority(handle, priorities.get(i));
+            passed = passed && testPQ.priorityOf(handle) == priorities.get(i);
+        }
+        System.out.println(name + " changePriority() " + (passed ? "PASS" : "FAIL") + "!");
+
+        // Test 5: Remove everything in order, after which every handle should be stale.
+        List<String> refOutput = new ArrayList<>();
+        List<String> testOutput = new ArrayList<>();
+        while (!referencePQ.isEmpty()) {
+            refOutput.add(referencePQ.removeMin());
+            testOutput.add(testPQ.removeMin());
+        }
+        if (refOutput.equals(testOutput) && testPQ.isEmpty())
+            System.out.println(name + " removeMin() PASS!");
+        else
+            System.out.println(name + " removeMin() FAIL!");
+
+        passed = true;
+        for (Handle<String> handle : handles.values()) {
+            passed = passed && isStale(testPQ, handle);
+        }
+        System.out.println(name + " contains() " + (passed ? "PASS" : "FAIL") + " [after removeMin]!");
+
+        // Test 6: Handles of removed items stay stale when the heap grows back past their old indices.
+        Handle<String> first = handles.values().iterator().next();
+        for (String comment : comments) {
+            handles.put(comment, testPQ.add(comment, random.nextDouble()));
+        }
+        if (isStale(testPQ, first) && testPQ.contains(handles.get(first.item())))
+            System.out.println(name + " contains() PASS [after re-adding]!");
+        else
+            System.out.println(name + " contains() FAIL [after re-adding]!");
+        System.out.println();
+    }
+}
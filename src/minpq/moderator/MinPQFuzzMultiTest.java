@@ -0,0 +1,766 @@
+package minpq.moderator;
+
+import minpq.*;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.lang.management.ManagementFactory;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.*;
+
+/**
+ * Fuzz each {@link ExtrinsicMinPQ} implementation with a seeded random sequence of operations, checking every result
+ * against {@link DoubleMapMinPQ}, then replay the same sequence without checks to measure its time and allocation. The
+ * operations include the bulk operations and {@code peekMin(k)}, as well as {@code removeMax} for
+ * {@link DoubleEndedMinPQ} implementations and {@code meld} for {@link MergeableMinPQ} implementations.
+ * Measurements are saved to a CSV file and compared against the committed baseline CSV file, which must exist. Pass
+ * {@code --update-baseline} to save the measurements as the new baseline instead, e.g. after an intended change in
+ * performance or on a different machine.
+ * <p>
+ * Pass a seed as an argument to reproduce a failure reported for that seed. The baseline only applies to the default
+ * seed, so measurements for other seeds are not compared against it.
+ *
+ * @see ModeratorMultiTest
+ */
+class MinPQFuzzMultiTest {
+    /**
+     * Default seed for the random operation sequences.
+     */
+    private static final long DEFAULT_SEED = 373;
+    /**
+     * Number of operations in each sequence.
+     */
+    private static final int NUM_OPS = 500_000;
+    /**
+     * Number of distinct items. Keeping this small means items are often re-added after removal.
+     */
+    private static final int NUM_ITEMS = 1000;
+    /**
+     * Number of times each sequence is replayed for measurement. Only the fastest replay counts, to reduce noise.
+     */
+    private static final int NUM_TRIALS = 5;
+    /**
+     * Fractional slowdown in time per operation beyond which an implementation is flagged.
+     */
+    private static final double TIME_TOLERANCE = 0.5;
+    /**
+     * Fractional increase in bytes allocated per operation beyond which an implementation is flagged.
+     */
+    private static final double ALLOCATION_TOLERANCE = 0.25;
+    /**
+     * Implementations that require priority values no less than the last removed minimum.
+     */
+    private static final Set<String> MONOTONE = Set.of("RadixHeapMinPQ");
+    /**
+     * Test directory name.
+     */
+    private static final String TEST = "experiment";
+    /**
+     * Path to the CSV file of current measurements.
+     */
+    private static final String RESULTS_PATH = TEST + "/MinPQFuzz.csv";
+    /**
+     * Path to the CSV file of baseline measurements.
+     */
+    private static final String BASELINE_PATH = TEST + "/MinPQFuzzBaseline.csv";
+    /**
+     * Argument that saves the measurements as the new baseline.
+     */
+    private static final String UPDATE_BASELINE = "--update-baseline";
+
+    /**
+     * Temporary directories created for the current test case, deleted once its priority queues are closed.
+     */
+    private static final List<Path> temporaryDirectories = new ArrayList<>();
+
+    /**
+     * Maximum number of items in each batch operation and maximum <i>k</i> for {@code removeMin(k, out)}.
+     */
+    private static final int MAX_BATCH = 8;
+
+    /**
+     * Operation codes for single-item operations.
+     */
+    private static final int ADD = 0, CONTAINS = 1, REMOVE_MIN = 2, CHANGE_PRIORITY = 3, REMOVE_MAX = 4;
+    /**
+     * Operation codes for batch operations, which record an index into the batches of item-priority pairs.
+     */
+    private static final int ADD_ALL = 5, CHANGE_PRIORITIES = 6, MELD = 7;
+    /**
+     * Operation codes for operations on the <i>k</i> smallest items, which record <i>k</i>.
+     */
+    private static final int REMOVE_MIN_K = 8, PEEK_MIN_K = 9;
+
+    /**
+     * Creates an empty priority queue, possibly backed by files.
+     */
+    @FunctionalInterface
+    private interface Factory {
+        ExtrinsicMinPQ<Integer> create() throws IOException;
+    }
+
+    /**
+     * Testing implementations. Priority values lie in [-1, 1), so the bucket queue covers that range.
+     */
+    private static final Map<String, Factory> implementations = Map.ofEntries(
+            Map.entry("DoubleMapMinPQ", DoubleMapMinPQ::new),
+            Map.entry("UnsortedArrayMinPQ", UnsortedArrayMinPQ::new),
+            Map.entry("HeapMinPQ", HeapMinPQ::new),
+            Map.entry("OptimizedHeapMinPQ", OptimizedHeapMinPQ::new),
+            Map.entry("IndexedDaryHeapMinPQ", () -> new IndexedDaryHeapMinPQ(NUM_ITEMS, 4)),
+            Map.entry("PairingHeapMinPQ", PairingHeapMinPQ::new),
+            Map.entry("RadixHeapMinPQ", RadixHeapMinPQ::new),
+            Map.entry("BucketMinPQ", () -> new BucketMinPQ<>(-1.0, 1.0, 1000)),
+            // Only strict mode guarantees the same removal order as the reference.
+            Map.entry("MultiQueueMinPQ", () -> new MultiQueueMinPQ<>(4, true)),
+            Map.entry("DurableMinPQ", () -> new DurableMinPQ<>(new OptimizedHeapMinPQ<>(),
+                    temporaryDirectory(), String::valueOf, Integer::valueOf)),
+            Map.entry("MappedMinPQ", () -> new StringKeyedMinPQ(new MappedMinPQ())),
+            Map.entry("LazyDeletionHeapMinPQ", LazyDeletionHeapMinPQ::new),
+            Map.entry("CompactHeapMinPQ", CompactHeapMinPQ::new),
+            Map.entry("LeftistHeapMinPQ", LeftistHeapMinPQ::new),
+            Map.entry("MinMaxHeapMinPQ", MinMaxHeapMinPQ::new),
+            Map.entry("BoundedMinPQ", () -> new BoundedMinPQ<>(Integer.MAX_VALUE)),
+            Map.entry("InstrumentedMinPQ", () -> new InstrumentedMinPQ<>(new OptimizedHeapMinPQ<>())),
+            Map.entry("LongHeapMinPQ", LongKeyedMinPQ::new)
+    );
+
+    public static void main(String[] args) throws IOException {
+        long seed = DEFAULT_SEED;
+        boolean updateBaseline = false;
+        for (String arg : args) {
+            if (arg.equals(UPDATE_BASELINE)) {
+                updateBaseline = true;
+            } else {
+                seed = Long.parseLong(arg);
+            }
+        }
+        if (updateBaseline && seed != DEFAULT_SEED) {
+            throw new IllegalArgumentException("The baseline must be measured with the default seed " + DEFAULT_SEED);
+        }
+        // Fail before spending minutes on measurements that cannot be compared.
+        if (!updateBaseline && seed == DEFAULT_SEED && !Files.exists(Path.of(BASELINE_PATH))) {
+            throw new FileNotFoundException(
+                    BASELINE_PATH + " not found; run with " + UPDATE_BASELINE + " to create it"
+            );
+        }
+        System.out.println("Seed " + seed);
+
+        Map<String, double[]> results = new TreeMap<>();
+        for (String name : new TreeSet<>(implementations.keySet())) {
+            System.out.println();
+            ExtrinsicMinPQ<Integer> testPQ = implementations.get(name).create();
+            Sequence sequence = new Sequence(seed, MONOTONE.contains(name),
+                    testPQ instanceof DoubleEndedMinPQ, testPQ instanceof MergeableMinPQ);
+            try {
+                String failure = fuzz(testPQ, implementations.get(name), sequence);
+                if (failure != null) {
+                    System.out.println(name + " FAIL at " + failure);
+                    continue;
+                }
+            } catch (RuntimeException e) {
+                System.out.println(name + " FAIL at " + describe(sequence, sequence.length - 1) + ": " + e);
+                continue;
+            } finally {
+                close(testPQ);
+                deleteTemporaryDirectories();
+            }
+            System.out.println(name + " " + NUM_OPS + " operations PASS!");
+
+            // Replay the same operations on a fresh instance without checking them.
+            results.put(name, measure(implementations.get(name), sequence));
+            System.out.printf("%s %.1f ns/op, %.1f bytes/op%n",
+                    name, results.get(name)[0] / NUM_OPS * 1_000_000_000, results.get(name)[1]);
+        }
+
+        new File(TEST).mkdir();
+        PrintStream out = new PrintStream(RESULTS_PATH);
+        for (String name : results.keySet()) {
+            out.printf("%s,%.10f,%.1f%n", name, results.get(name)[0], results.get(name)[1]);
+        }
+        out.close();
+        System.out.println();
+        if (updateBaseline) {
+            Files.copy(Path.of(RESULTS_PATH), Path.of(BASELINE_PATH), StandardCopyOption.REPLACE_EXISTING);
+            System.out.println("Saved the results as the baseline in " + BASELINE_PATH);
+        } else if (seed != DEFAULT_SEED) {
+            System.out.println("Not compared against " + BASELINE_PATH + ", which is for seed " + DEFAULT_SEED);
+        } else {
+            compareToBaseline(results);
+        }
+    }
+
+    /**
+     * Runs the random operation sequence on the test priority queue and a reference priority queue side by side,
+     * recording each operation in the sequence so that it can be replayed.
+     *
+     * @param testPQ   the priority queue to test.
+     * @param factory  the factory for the priority queue, used to create priority queues to meld.
+     * @param sequence the generator and record of operations.
+     * @return a description of the first mismatch, or null if every result matched.
+     * @throws IOException if a priority queue to meld cannot be created.
+     */
+    @SuppressWarnings("unchecked")
+    private static String fuzz(ExtrinsicMinPQ<Integer> testPQ, Factory factory, Sequence sequence)
+            throws IOException {
+        ExtrinsicMinPQ<Integer> referencePQ = new DoubleMapMinPQ<>();
+        for (int i = 0; i < NUM_OPS; i += 1) {
+            int op = sequence.next(referencePQ);
+            int item = sequence.items[i];
+            double priority = sequence.priorities[i];
+            // Items whose containment should be checked after the operation.
+            Collection<Integer> touched = List.of(item);
+            switch (op) {
+                case ADD:
+                    referencePQ.add(item, priority);
+                    testPQ.add(item, priority);
+                    break;
+                case CHANGE_PRIORITY:
+                    referencePQ.changePriority(item, priority);
+                    testPQ.changePriority(item, priority);
+                    break;
+                case REMOVE_MIN: {
+                    Integer expected = referencePQ.removeMin();
+                    Integer actual = testPQ.removeMin();
+                    if (!expected.equals(actual)) {
+                        return describe(sequence, i) + ": expected " + expected + " but was " + actual;
+                    }
+                    sequence.removed(expected, referencePQ.isEmpty());
+                    break;
+                }
+                case REMOVE_MAX: {
+                    // The reference has no maximum end, so the sequence found the maximum to remove as a minimum.
+                    referencePQ.changePriority(item, Double.NEGATIVE_INFINITY);
+                    referencePQ.removeMin();
+                    Integer actual = ((DoubleEndedMinPQ<Integer>) testPQ).removeMax();
+                    if (actual != item) {
+                        return describe(sequence, i) + ": expected " + item + " but was " + actual;
+                    }
+                    break;
+                }
+                case ADD_ALL:
+                    referencePQ.addAll(sequence.batches.get(item));
+                    testPQ.addAll(sequence.batches.get(item));
+                    touched = sequence.batches.get(item).keySet();
+                    break;
+                case CHANGE_PRIORITIES:
+                    referencePQ.changePriorities(sequence.batches.get(item));
+                    testPQ.changePriorities(sequence.batches.get(item));
+                    touched = sequence.batches.get(item).keySet();
+                    break;
+                case MELD: {
+                    ExtrinsicMinPQ<Integer> otherPQ = factory.create();
+                    otherPQ.addAll(sequence.batches.get(item));
+                    ((MergeableMinPQ<Integer>) testPQ).meld((MergeableMinPQ<Integer>) otherPQ);
+                    referencePQ.addAll(sequence.batches.get(item));
+                    if (!otherPQ.isEmpty()) {
+                        return describe(sequence, i) + ": melded priority queue has size " + otherPQ.size();
+                    }
+                    touched = sequence.batches.get(item).keySet();
+                    break;
+                }
+                case REMOVE_MIN_K: {
+                    List<Integer> expected = new ArrayList<>();
+                    List<Integer> actual = new ArrayList<>();
+                    referencePQ.removeMin(item, expected);
+                    int removed = testPQ.removeMin(item, actual);
+                    if (!expected.equals(actual) || removed != actual.size()) {
+                        return describe(sequence, i) + ": expected " + expected + " but was " + actual
+                                + " with return value " + removed;
+                    }
+                    if (!expected.isEmpty()) {
+                        sequence.removed(expected.get(expected.size() - 1), referencePQ.isEmpty());
+                    }
+                    touched = expected;
+                    break;
+                }
+                case PEEK_MIN_K: {
+                    List<Integer> expected = referencePQ.peekMin(item);
+                    List<Integer> actual = testPQ.peekMin(item);
+                    if (!expected.equals(actual)) {
+                        return describe(sequence, i) + ": expected " + expected + " but was " + actual;
+                    }
+                    touched = expected;
+                    break;
+                }
+                default:
+                    break;
+            }
+            // Check the observable state after every operation.
+            for (int touchedItem : touched) {
+                if (referencePQ.contains(touchedItem) != testPQ.contains(touchedItem)) {
+                    return describe(sequence, i) + ": contains(" + touchedItem + ") was "
+                            + testPQ.contains(touchedItem);
+                }
+            }
+            if (referencePQ.size() != testPQ.size()) {
+                return describe(sequence, i)
+                        + ": size() was " + testPQ.size() + " instead of " + referencePQ.size();
+            }
+            if (!referencePQ.isEmpty() && !referencePQ.peekMin().equals(testPQ.peekMin())) {
+                return describe(sequence, i)
+                        + ": peekMin() was " + testPQ.peekMin() + " instead of " + referencePQ.peekMin();
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Replays the recorded operations on fresh priority queues and returns the elapsed time in seconds and the number
+     * of bytes allocated per operation for the fastest replay.
+     *
+     * @param factory  the factory for the priority queue.
+     * @param sequence the recorded operations.
+     * @return an array containing the elapsed seconds and the bytes allocated per operation.
+     * @throws IOException if the priority queue cannot be created.
+     */
+    @SuppressWarnings("unchecked")
+    private static double[] measure(Factory factory, Sequence sequence) throws IOException {
+        double[] fastest = null;
+        List<Integer> removed = new ArrayList<>(MAX_BATCH);
+        for (int trial = 0; trial < NUM_TRIALS; trial += 1) {
+            ExtrinsicMinPQ<Integer> pq = factory.create();
+            long bytesBefore = allocatedBytes();
+            long start = System.nanoTime();
+            for (int i = 0; i < NUM_OPS; i += 1) {
+                int item = sequence.items[i];
+                switch (sequence.ops[i]) {
+                    case ADD:
+                        pq.add(item, sequence.priorities[i]);
+                        break;
+                    case CONTAINS:
+                        pq.contains(item);
+                        break;
+                    case REMOVE_MIN:
+                        pq.removeMin();
+                        break;
+                    case CHANGE_PRIORITY:
+                        pq.changePriority(item, sequence.priorities[i]);
+                        break;
+                    case REMOVE_MAX:
+                        ((DoubleEndedMinPQ<Integer>) pq).removeMax();
+                        break;
+                    case ADD_ALL:
+                        pq.addAll(sequence.batches.get(item));
+                        break;
+                    case CHANGE_PRIORITIES:
+                        pq.changePriorities(sequence.batches.get(item));
+                        break;
+                    case MELD:
+                        ExtrinsicMinPQ<Integer> otherPQ = factory.create();
+                        otherPQ.addAll(sequence.batches.get(item));
+                        ((MergeableMinPQ<Integer>) pq).meld((MergeableMinPQ<Integer>) otherPQ);
+                        break;
+                    case REMOVE_MIN_K:
+                        pq.removeMin(item, removed);
+                        removed.clear();
+                        break;
+                    case PEEK_MIN_K:
+                        pq.peekMin(item);
+                        break;
+                    default:
+                        throw new IllegalStateException("Unknown operation " + sequence.ops[i]);
+                }
+            }
+            long time = System.nanoTime() - start;
+            long bytes = allocatedBytes() - bytesBefore;
+            close(pq);
+            deleteTemporaryDirectories();
+            double seconds = (double) time / 1_000_000_000;
+            if (fastest == null || seconds < fastest[0]) {
+                fastest = new double[]{seconds, (double) bytes / NUM_OPS};
+            }
+        }
+        return fastest;
+    }
+
+    /**
+     * Prints every implementation whose measurements exceed the baseline by more than the tolerance.
+     *
+     * @param results {@link Map} of implementation names to their elapsed seconds and bytes allocated per operation.
+     * @throws IOException if the baseline file cannot be read.
+     */
+    private static void compareToBaseline(Map<String, double[]> results) throws IOException {
+        Path baselinePath = Path.of(BASELINE_PATH);
+        Map<String, double[]> baseline = new HashMap<>();
+        for (String line : Files.readAllLines(baselinePath)) {
+            String[] fields = line.split(",");
+            baseline.put(fields[0], new double[]{Double.parseDouble(fields[1]), Double.parseDouble(fields[2])});
+        }
+        boolean regressed = false;
+        for (String name : results.keySet()) {
+            if (!baseline.containsKey(name)) {
+                System.out.println(name + " has no baseline");
+                continue;
+            }
+            double[] result = results.get(name);
+            double[] base = baseline.get(name);
+            if (result[0] > base[0] * (1 + TIME_TOLERANCE)) {
+                System.out.printf("%s time REGRESSION: %.4f s vs baseline %.4f s (%+.0f%%)%n",
+                        name, result[0], base[0], 100 * (result[0] / base[0] - 1));
+                regressed = true;
+            }
+            if (result[1] > base[1] * (1 + ALLOCATION_TOLERANCE)) {
+                System.out.printf("%s allocation REGRESSION: %.1f bytes/op vs baseline %.1f bytes/op (%+.0f%%)%n",
+                        name, result[1], base[1], 100 * (result[1] / base[1] - 1));
+                regressed = true;
+            }
+        }
+        if (!regressed) {
+            System.out.println("No regressions against " + BASELINE_PATH);
+        }
+    }
+
+    /**
+     * Returns the number of bytes allocated by the current thread so far.
+     *
+     * @return the number of bytes allocated by the current thread so far.
+     */
+    private static long allocatedBytes() {
+        com.sun.management.ThreadMXBean bean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        return bean.getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+
+    /**
+     * Closes the priority queue if it holds files open.
+     *
+     * @param pq the priority queue to close.
+     * @throws IOException if the priority queue cannot be closed.
+     */
+    private static void close(ExtrinsicMinPQ<Integer> pq) throws IOException {
+        if (pq instanceof Closeable) {
+            ((Closeable) pq).close();
+        }
+    }
+
+    /**
+     * Returns a new temporary directory that is deleted by {@link #deleteTemporaryDirectories()}.
+     *
+     * @return the path to the new directory.
+     * @throws IOException if the directory cannot be created.
+     */
+    private static Path temporaryDirectory() throws IOException {
+        Path directory = Files.createTempDirectory("minpq");
+        temporaryDirectories.add(directory);
+        return directory;
+    }
+
+    /**
+     * Deletes every temporary directory created since the last call, along with the files in it. The priority queues
+     * using the directories must be closed first.
+     *
+     * @throws IOException if a directory or file cannot be deleted.
+     */
+    private static void deleteTemporaryDirectories() throws IOException {
+        for (Path directory : temporaryDirectories) {
+            try (DirectoryStream<Path> files = Files.newDirectoryStream(directory)) {
+                for (Path file : files) {
+                    Files.delete(file);
+                }
+            }
+            Files.delete(directory);
+        }
+        temporaryDirectories.clear();
+    }
+
+    /**
+     * Returns a readable description of the recorded operation.
+     *
+     * @param sequence the recorded operations.
+     * @param i        the index of the operation in the sequence.
+     * @return a readable description of the operation.
+     */
+    private static String describe(Sequence sequence, int i) {
+        int item = sequence.items[i];
+        double priority = sequence.priorities[i];
+        switch (sequence.ops[i]) {
+            case ADD:
+                return "operation " + i + " add(" + item + ", " + priority + ")";
+            case CONTAINS:
+                return "operation " + i + " contains(" + item + ")";
+            case REMOVE_MIN:
+                return "operation " + i + " removeMin()";
+            case CHANGE_PRIORITY:
+                return "operation " + i + " changePriority(" + item + ", " + priority + ")";
+            case REMOVE_MAX:
+                return "operation " + i + " removeMax()";
+            case ADD_ALL:
+                return "operation " + i + " addAll(" + sequence.batches.get(item) + ")";
+            case CHANGE_PRIORITIES:
+                return "operation " + i + " changePriorities(" + sequence.batches.get(item) + ")";
+            case MELD:
+                return "operation " + i + " meld(" + sequence.batches.get(item) + ")";
+            case REMOVE_MIN_K:
+                return "operation " + i + " removeMin(" + item + ", out)";
+            default:
+                return "operation " + i + " peekMin(" + item + ")";
+        }
+    }
+
+    /**
+     * Seeded generator of valid operations that records each operation as it is generated. Priority values are unique
+     * so that the removal order is fully determined.
+     */
+    private static class Sequence {
+        private final Random random;
+        private final boolean monotone;
+        private final boolean doubleEnded;
+        private final boolean mergeable;
+        private final Set<Double> usedPriorities;
+        private final int[] ops;
+        /**
+         * The item of each single-item operation, the batch index of each batch operation, or <i>k</i>.
+         */
+        private final int[] items;
+        private final double[] priorities;
+        /**
+         * Item-priority pairs of each batch operation, in order of the operations.
+         */
+        private final List<Map<Integer, Double>> batches;
+        /**
+         * The latest priority value of each item.
+         */
+        private final double[] itemPriorities;
+        private int length;
+        /**
+         * Lower bound for new priority values, raised to each removed minimum if monotone.
+         */
+        private double floor;
+
+        Sequence(long seed, boolean monotone, boolean doubleEnded, boolean mergeable) {
+            this.random = new Random(seed);
+            this.monotone = monotone;
+            this.doubleEnded = doubleEnded;
+            this.mergeable = mergeable;
+            this.usedPriorities = new HashSet<>();
+            this.ops = new int[NUM_OPS];
+            this.items = new int[NUM_OPS];
+            this.priorities = new double[NUM_OPS];
+            this.batches = new ArrayList<>();
+            this.itemPriorities = new double[NUM_ITEMS];
+            this.floor = -1.0;
+        }
+
+        /**
+         * Generates and records an operation that is valid for the reference priority queue in its current state.
+         * Removing the maximum and melding are only generated if the implementation supports them.
+         *
+         * @param referencePQ the reference priority queue.
+         * @return the operation code.
+         */
+        int next(ExtrinsicMinPQ<Integer> referencePQ) {
+            int item = random.nextInt(NUM_ITEMS);
+            int roll = random.nextInt(100);
+            int op = CONTAINS;
+            double priority = Double.NaN;
+            if (roll < 35) {
+                op = referencePQ.contains(item) ? CONTAINS : ADD;
+            } else if (roll < 55) {
+                op = referencePQ.contains(item) ? CHANGE_PRIORITY : CONTAINS;
+            } else if (roll < 80) {
+                op = referencePQ.isEmpty() ? CONTAINS : REMOVE_MIN;
+            } else if (roll < 83) {
+                op = batch(referencePQ, ADD_ALL, false);
+            } else if (roll < 86) {
+                op = batch(referencePQ, CHANGE_PRIORITIES, true);
+            } else if (roll < 89) {
+                op = REMOVE_MIN_K;
+                item = random.nextInt(MAX_BATCH + 1);
+            } else if (roll < 92) {
+                op = PEEK_MIN_K;
+                item = random.nextInt(2 * MAX_BATCH + 1);
+            } else if (roll < 94) {
+                op = mergeable ? batch(referencePQ, MELD, false) : CONTAINS;
+            } else if (roll < 96) {
+                if (doubleEnded && !referencePQ.isEmpty()) {
+                    op = REMOVE_MAX;
+                    item = maxItem(referencePQ);
+                }
+            }
+            if (op == ADD_ALL || op == CHANGE_PRIORITIES || op == MELD) {
+                item = batches.size() - 1;
+            } else if (op == ADD || op == CHANGE_PRIORITY) {
+                priority = nextPriority();
+                itemPriorities[item] = priority;
+            }
+            ops[length] = op;
+            items[length] = item;
+            priorities[length] = priority;
+            length += 1;
+            return op;
+        }
+
+        /**
+         * Updates the monotone floor after the item was removed from the reference priority queue.
+         *
+         * @param item  the removed item.
+         * @param empty whether the reference priority queue is now empty.
+         */
+        void removed(int item, boolean empty) {
+            // Monotone implementations lift the restriction once empty.
+            if (monotone) {
+                floor = empty ? -1.0 : itemPriorities[item];
+            }
+        }
+
+        // Records a batch of up to MAX_BATCH random items that are present in the reference priority queue if present
+        // is true, or absent otherwise, with new priority values. Returns the operation, or CONTAINS if none qualify.
+        private int batch(ExtrinsicMinPQ<Integer> referencePQ, int op, boolean present) {
+            Map<Integer, Double> batch = new LinkedHashMap<>();
+            for (int i = 0; i < MAX_BATCH; i += 1) {
+                int item = random.nextInt(NUM_ITEMS);
+                if (referencePQ.contains(item) == present && !batch.containsKey(item)) {
+                    double priority = nextPriority();
+                    itemPriorities[item] = priority;
+                    batch.put(item, priority);
+                }
+            }
+            if (batch.isEmpty()) {
+                return CONTAINS;
+            }
+            batches.add(batch);
+            return op;
+        }
+
+        // Returns the item with the maximum priority value in the non-empty reference priority queue.
+        private int maxItem(ExtrinsicMinPQ<Integer> referencePQ) {
+            int max = -1;
+            for (int item = 0; item < NUM_ITEMS; item += 1) {
+                if (referencePQ.contains(item) && (max < 0 || itemPriorities[item] > itemPriorities[max])) {
+                    max = item;
+                }
+            }
+            return max;
+        }
+
+        // Returns a new unique priority value no less than the floor.
+        private double nextPriority() {
+            double priority;
+            do {
+                priority = monotone ? floor + random.nextDouble() / 100 : -1.0 + 2 * random.nextDouble();
+            } while (!usedPriorities.add(priority));
+            return priority;
+        }
+    }
+
+    /**
+     * Adapts a priority queue of strings to integer items by converting them to and from their decimal strings.
+     */
+    private static class StringKeyedMinPQ implements ExtrinsicMinPQ<Integer>, Closeable {
+        private final MappedMinPQ pq;
+
+        StringKeyedMinPQ(MappedMinPQ pq) {
+            this.pq = pq;
+        }
+
+        @Override
+        public void add(Integer item, double priority) {
+            pq.add(String.valueOf(item), priority);
+        }
+
+        @Override
+        public boolean contains(Integer item) {
+            return pq.contains(String.valueOf(item));
+        }
+
+        @Override
+        public Integer peekMin() {
+            return Integer.valueOf(pq.peekMin());
+        }
+
+        @Override
+        public Iterator<Integer> snapshotIterator() {
+            Iterator<String> it = pq.snapshotIterator();
+            return new Iterator<>() {
+                @Override
+                public boolean hasNext() {
+                    return it.hasNext();
+                }
+
+                @Override
+                public Integer next() {
+                    return Integer.valueOf(it.next());
+                }
+            };
+        }
+
+        @Override
+        public Integer removeMin() {
+            return Integer.valueOf(pq.removeMin());
+        }
+
+        @Override
+        public void changePriority(Integer item, double priority) {
+            pq.changePriority(String.valueOf(item), priority);
+        }
+
+        @Override
+        public int size() {
+            return pq.size();
+        }
+
+        @Override
+        public void close() throws IOException {
+            pq.close();
+        }
+    }
+
+    /**
+     * Adapts a {@link LongHeapMinPQ} to integer items.
+     */
+    private static class LongKeyedMinPQ implements ExtrinsicMinPQ<Integer> {
+        private final LongHeapMinPQ pq = new LongHeapMinPQ();
+
+        @Override
+        public void add(Integer item, double priority) {
+            pq.add(item, priority);
+        }
+
+        @Override
+        public boolean contains(Integer item) {
+            return pq.contains(item);
+        }
+
+        @Override
+        public Integer peekMin() {
+            return (int) pq.peekMin();
+        }
+
+        @Override
+        public Iterator<Integer> snapshotIterator() {
+            PrimitiveIterator.OfLong it = pq.snapshotIterator();
+            return new Iterator<>() {
+                @Override
+                public boolean hasNext() {
+                    return it.hasNext();
+                }
+
+                @Override
+                public Integer next() {
+                    return (int) it.nextLong();
+                }
+            };
+        }
+
+        @Override
+        public Integer removeMin() {
+            return (int) pq.removeMin();
+        }
+
+        @Override
+        public void changePriority(Integer item, double priority) {
+            pq.changePriority(item, priority);
+        }
+
+        @Override
+        public int size() {
+            return pq.size();
+        }
+    }
+}
@@ -0,0 +1,340 @@
+package minpq.moderator;
+
+import minpq.*;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.lang.management.ManagementFactory;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.function.IntToDoubleFunction;
+import java.util.function.Supplier;
+
+/**
+ * Run throughput, allocation, and latency experiments for {@link ExtrinsicMinPQ} implementations under several
+ * workloads and save a CSV file for each workload. Each line of a CSV file records the implementation name, the input
+ * size <i>N</i>, the operations per second, the bytes allocated per operation, and the 99th percentile operation latency
+ * in nanoseconds.
+ * <p>
+ * Throughput and allocation are measured without timing individual operations. Latency is then measured in a separate
+ * run that times every operation, since reading the clock around each operation would otherwise skew throughput.
+ * <p>
+ * Pass a maximum input size as the first argument to stop before the largest sizes.
+ *
+ * @see ExtrinsicMinPQ
+ */
+class MinPQWorkloadExperiments {
+    /**
+     * Input sizes <i>N</i> for each experiment. Making the largest size smaller means experiments run faster.
+     */
+    private static final int[] INPUT_SIZES = {1_000, 10_000, 100_000, 1_000_000, 10_000_000};
+    /**
+     * Implementations whose {@code add} or {@code removeMin} take linear time are only run up to this input size.
+     */
+    private static final int MAX_LINEAR_SIZE = 10_000;
+    /**
+     * Implementations whose {@code add} or {@code removeMin} take linear time.
+     */
+    private static final Set<String> LINEAR_IMPLEMENTATIONS = Set.of("UnsortedArrayMinPQ", "HeapMinPQ");
+    /**
+     * Approximate number of items processed per measurement, split across as many trials as needed.
+     */
+    private static final int ITEMS_PER_MEASUREMENT = 1_000_000;
+    /**
+     * Number of neighbors relaxed per removal in the Dijkstra workload.
+     */
+    private static final int DEGREE = 4;
+    /**
+     * Number of additions per removal in the moderation workload.
+     */
+    private static final int ADDS_PER_REMOVAL = 8;
+    /**
+     * Test directory name.
+     */
+    private static final String TEST = "experiment";
+
+    public static void main(String[] args) throws IOException {
+        int maxSize = args.length > 0 ? Integer.parseInt(args[0]) : Integer.MAX_VALUE;
+
+        // Testing implementations. Radix and bucket queues are left out since the workloads below are not all monotone
+        // and do not share a fixed priority range.
+        Map<String, Supplier<ExtrinsicMinPQ<Integer>>> implementations = Map.of(
+                "DoubleMapMinPQ", DoubleMapMinPQ::new,
+                "UnsortedArrayMinPQ", UnsortedArrayMinPQ::new,
+                "HeapMinPQ", HeapMinPQ::new,
+                "OptimizedHeapMinPQ", OptimizedHeapMinPQ::new,
+                "PairingHeapMinPQ", PairingHeapMinPQ::new,
+                "LazyDeletionHeapMinPQ", LazyDeletionHeapMinPQ::new,
+                "CompactHeapMinPQ", CompactHeapMinPQ::new,
+                "LeftistHeapMinPQ", LeftistHeapMinPQ::new,
+                "MinMaxHeapMinPQ", MinMaxHeapMinPQ::new
+        );
+        Map<String, Workload> workloads = Map.of(
+                "Dijkstra", MinPQWorkloadExperiments::dijkstra,
+                "Moderation", MinPQWorkloadExperiments::moderation,
+                "Sorted", (driver, n, random) -> addThenRemoveAll(driver, n, i -> i),
+                "Reverse", (driver, n, random) -> addThenRemoveAll(driver, n, i -> n - i),
+                "Random", (driver, n, random) -> addThenRemoveAll(driver, n, i -> random.nextDouble())
+        );
+
+        new File(TEST).mkdir();
+        for (String workloadName : workloads.keySet()) {
+            Workload workload = workloads.get(workloadName);
+            PrintStream out = new PrintStream(TEST + "/MinPQ" + workloadName + ".csv");
+            for (int n : INPUT_SIZES) {
+                if (n > maxSize) {
+                    break;
+                }
+                for (String name : implementations.keySet()) {
+                    if (n > MAX_LINEAR_SIZE && LINEAR_IMPLEMENTATIONS.contains(name)) {
+                        continue;
+                    }
+                    Result result = measure(implementations.get(name), workload, n);
+                    System.out.printf("%s N = %d %s: %.0f ops/s, %.1f bytes/op, p99 %d ns%n",
+                            workloadName, n, name, result.opsPerSecond, result.bytesPerOp, result.p99Nanos);
+                    out.printf("%s,%d,%.1f,%.1f,%d%n",
+                            name, n, result.opsPerSecond, result.bytesPerOp, result.p99Nanos);
+                }
+            }
+            // Flush the output and release the file handle.
+            out.close();
+        }
+    }
+
+    /**
+     * Runs the workload on fresh priority queues from the supplier and returns the measurements.
+     *
+     * @param implementation the supplier of empty priority queues.
+     * @param workload       the workload to run.
+     * @param n              the input size.
+     * @return the throughput, allocation, and latency measurements.
+     */
+    private static Result measure(Supplier<ExtrinsicMinPQ<Integer>> implementation, Workload workload, int n) {
+        int trials = Math.max(1, ITEMS_PER_MEASUREMENT / n);
+
+        // Warm up so that the measured runs use compiled code.
+        for (int i = 0; i < trials; i += 1) {
+            workload.run(new Driver(implementation.get(), null), n, new Random(i));
+        }
+
+        // Measure throughput and allocation without timing individual operations.
+        long ops = 0;
+        long bytesBefore = allocatedBytes();
+        long start = System.nanoTime();
+        for (int i = 0; i < trials; i += 1) {
+            Driver driver = new Driver(implementation.get(), null);
+            workload.run(driver, n, new Random(i));
+            ops += driver.ops;
+        }
+        long time = System.nanoTime() - start;
+        long bytes = allocatedBytes() - bytesBefore;
+
+        // Measure latency in a separate run that times every operation.
+        Histogram histogram = new Histogram();
+        workload.run(new Driver(implementation.get(), histogram), n, new Random(trials));
+
+        return new Result(
+                (double) ops / time * 1_000_000_000,
+                (double) bytes / ops,
+                histogram.percentile(0.99)
+        );
+    }
+
+    /**
+     * Returns the number of bytes allocated by the current thread so far.
+     *
+     * @return the number of bytes allocated by the current thread so far.
+     */
+    private static long allocatedBytes() {
+        com.sun.management.ThreadMXBean bean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        return bean.getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+
+    /**
+     * Simulates Dijkstra's algorithm on a random graph with <i>N</i> vertices and {@code DEGREE} random out-edges per
+     * vertex: each removal relaxes its out-edges, adding unseen vertices and decreasing the priority of queued ones.
+     *
+     * @param driver the driver for the priority queue.
+     * @param n      the number of vertices.
+     * @param random the source of randomness.
+     */
+    private static void dijkstra(Driver driver, int n, Random random) {
+        double[] distTo = new double[n];
+        // 0 for unseen, 1 for queued, 2 for removed.
+        byte[] state = new byte[n];
+        driver.add(0, 0.0);
+        state[0] = 1;
+        while (!driver.pq.isEmpty()) {
+            int from = driver.removeMin();
+            state[from] = 2;
+            for (int i = 0; i < DEGREE; i += 1) {
+                int to = random.nextInt(n);
+                double dist = distTo[from] + random.nextDouble();
+                if (state[to] == 0) {
+                    distTo[to] = dist;
+                    state[to] = 1;
+                    driver.add(to, dist);
+                } else if (state[to] == 1 && dist < distTo[to]) {
+                    distTo[to] = dist;
+                    driver.changePriority(to, dist);
+                }
+            }
+        }
+    }
+
+    /**
+     * Simulates content moderation: comments with random negated toxicity values arrive much faster than reviewers
+     * remove them, so the priority queue keeps growing.
+     *
+     * @param driver the driver for the priority queue.
+     * @param n      the number of comments added.
+     * @param random the source of randomness.
+     */
+    private static void moderation(Driver driver, int n, Random random) {
+        for (int i = 0; i < n; i += 1) {
+            driver.add(i, -random.nextDouble());
+            if (i % ADDS_PER_REMOVAL == ADDS_PER_REMOVAL - 1) {
+                driver.removeMin();
+            }
+        }
+    }
+
+    /**
+     * Adds <i>N</i> items with the given priority values and then removes them all.
+     *
+     * @param driver     the driver for the priority queue.
+     * @param n          the number of items.
+     * @param priorities the priority value of each item.
+     */
+    private static void addThenRemoveAll(Driver driver, int n, IntToDoubleFunction priorities) {
+        for (int i = 0; i < n; i += 1) {
+            driver.add(i, priorities.applyAsDouble(i));
+        }
+        while (!driver.pq.isEmpty()) {
+            driver.removeMin();
+        }
+    }
+
+    /**
+     * A sequence of priority queue operations on <i>N</i> items.
+     */
+    @FunctionalInterface
+    private interface Workload {
+        void run(Driver driver, int n, Random random);
+    }
+
+    /**
+     * Performs operations on a priority queue, counting them and optionally recording the latency of each one.
+     */
+    private static class Driver {
+        private final ExtrinsicMinPQ<Integer> pq;
+        private final Histogram histogram;
+        private long ops;
+
+        Driver(ExtrinsicMinPQ<Integer> pq, Histogram histogram) {
+            this.pq = pq;
+            this.histogram = histogram;
+        }
+
+        void add(int item, double priority) {
+            ops += 1;
+            if (histogram == null) {
+                pq.add(item, priority);
+                return;
+            }
+            long start = System.nanoTime();
+            pq.add(item, priority);
+            histogram.record(System.nanoTime() - start);
+        }
+
+        int removeMin() {
+            ops += 1;
+            if (histogram == null) {
+                return pq.removeMin();
+            }
+            long start = System.nanoTime();
+            int min = pq.removeMin();
+            histogram.record(System.nanoTime() - start);
+            return min;
+        }
+
+        void changePriority(int item, double priority) {
+            ops += 1;
+            if (histogram == null) {
+                pq.changePriority(item, priority);
+                return;
+            }
+            long start = System.nanoTime();
+            pq.changePriority(item, priority);
+            histogram.record(System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * Latency histogram with 8 linear sub-buckets per power of two, so each percentile is within 12.5% of the recorded
+     * value.
+     */
+    private static class Histogram {
+        /**
+         * Number of sub-buckets per power of two, as a power of two.
+         */
+        private static final int SUB_BUCKET_BITS = 3;
+        private final long[] counts = new long[64 << SUB_BUCKET_BITS];
+        private long total;
+
+        void record(long nanos) {
+            counts[bucketOf(Math.max(nanos, 0))] += 1;
+            total += 1;
+        }
+
+        // Returns the upper bound of the bucket containing the given fraction of recorded values.
+        long percentile(double fraction) {
+            long rank = (long) Math.ceil(fraction * total);
+            long seen = 0;
+            for (int bucket = 0; bucket < counts.length; bucket += 1) {
+                seen += counts[bucket];
+                if (seen >= rank && seen > 0) {
+                    return upperBoundOf(bucket);
+                }
+            }
+            return 0;
+        }
+
+        // Values below 2^SUB_BUCKET_BITS get their own buckets; larger values share buckets by their top bits.
+        private static int bucketOf(long value) {
+            int exponent = 63 - Long.numberOfLeadingZeros(value);
+            if (exponent < SUB_BUCKET_BITS) {
+                return (int) value;
+            }
+            int shift = exponent - SUB_BUCKET_BITS;
+            return ((shift + 1) << SUB_BUCKET_BITS) + (int) ((value >>> shift) & ((1 << SUB_BUCKET_BITS) - 1));
+        }
+
+        // Returns the largest value that falls in the bucket.
+        private static long upperBoundOf(int bucket) {
+            if (bucket < 1 << SUB_BUCKET_BITS) {
+                return bucket;
+            }
+            int shift = (bucket >>> SUB_BUCKET_BITS) - 1;
+            long top = (1L << SUB_BUCKET_BITS) + (bucket & ((1 << SUB_BUCKET_BITS) - 1));
+            return ((top + 1) << shift) - 1;
+        }
+    }
+
+    /**
+     * Measurements for one implementation, workload, and input size.
+     */
+    private static class Result {
+        private final double opsPerSecond;
+        private final double bytesPerOp;
+        private final long p99Nanos;
+
+        Result(double opsPerSecond, double bytesPerOp, long p99Nanos) {
+            this.opsPerSecond = opsPerSecond;
+            this.bytesPerOp = bytesPerOp;
+            this.p99Nanos = p99Nanos;
+        }
+    }
+}
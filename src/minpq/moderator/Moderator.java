@@ -1,14 +1,15 @@
 package minpq.moderator;
 
-import minpq.DoubleMapMinPQ;
+import minpq.BoundedMinPQ;
+import minpq.BucketMinPQ;
 import minpq.ExtrinsicMinPQ;
-import minpq.UnsortedArrayMinPQ;
+import minpq.InstrumentedMinPQ;
 
-import java.io.FileInputStream;
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Random;
 import java.util.Scanner;
-import java.util.zip.GZIPInputStream;
 
 /**
  * Simulate a content moderation priority queue with "streaming" data.
@@ -18,18 +19,39 @@ class Moderator {
      * Hide the content if true.
      */
     private static final boolean SAFE_FOR_WORK = true;
+    /**
+     * Record priority queue metrics and print them at the end if true.
+     */
+    private static final boolean INSTRUMENTED = false;
     /**
      * Path to the toxic content.
      */
     private static final String PATH = "data/toxic.tsv.gz";
+    /**
+     * Number of buckets dividing the range of negated toxicity values.
+     */
+    private static final int NUM_BUCKETS = 1000;
+    /**
+     * Maximum number of comments held for review. Less toxic comments beyond this are evicted.
+     */
+    private static final int MAX_QUEUE_SIZE = 10000;
+    /**
+     * Maximum number of parsed comments the background reader buffers ahead of the priority queue.
+     */
+    private static final int BUFFER_CAPACITY = 4096;
 
     public static void main(String[] args) throws IOException, InterruptedException {
-        Scanner scanner = new Scanner(new GZIPInputStream(new FileInputStream(PATH)));
-        scanner.nextLine(); // Skip header
+        CommentReader reader = CommentReader.start(PATH, BUFFER_CAPACITY);
 
-        ExtrinsicMinPQ<String> pq = new DoubleMapMinPQ<>();
+        // Toxicity values lie in [0, 1], so negated priorities lie in [-1, 0].
+        BucketMinPQ<String> buckets = new BucketMinPQ<>(-1.0, 0.0, NUM_BUCKETS);
+        // Only the most toxic comments are ever presented, so cap memory by evicting the least toxic ones.
+        BoundedMinPQ<String> bounded = new BoundedMinPQ<>(buckets, MAX_QUEUE_SIZE, (comment, priority) -> {
+            // In a real system, spill the evicted comment to cold storage.
+        });
+        ExtrinsicMinPQ<String> pq = InstrumentedMinPQ.wrap(bounded, INSTRUMENTED);
         Random random = new Random();
-        addComments(pq, scanner, random.nextInt(100));
+        addComments(pq, reader, random.nextInt(100));
         Scanner stdin = new Scanner(System.in);
         while (!pq.isEmpty()) {
             System.out.println();
@@ -56,27 +78,32 @@ class Moderator {
                 }
             }
             if (random.nextBoolean()) {
-                addComments(pq, scanner, random.nextInt(4));
+                addComments(pq, reader, random.nextInt(4));
             }
         }
+        if (pq instanceof InstrumentedMinPQ) {
+            System.out.println();
+            System.out.println(((InstrumentedMinPQ<String>) pq).snapshot());
+        }
     }
 
     /**
-     * Adds up to <i>N</i> comments from the scanner to the priority queue with negated weights.
+     * Adds up to <i>N</i> comments from the reader to the priority queue with negated weights.
      *
-     * @param pq      the destination priority queue.
-     * @param scanner the input scanner.
-     * @param n       the number of comments to read from the scanner.
+     * @param pq     the destination priority queue.
+     * @param reader the background comment reader.
+     * @param n      the number of comments to take from the reader.
+     * @throws IOException          if the reader failed to read or parse the comments.
+     * @throws InterruptedException if interrupted while waiting for the reader.
      */
-    private static void addComments(ExtrinsicMinPQ<String> pq, Scanner scanner, int n) {
-        int i = 0;
-        for (; i < n && scanner.hasNextLine(); i += 1) {
-            Scanner line = new Scanner(scanner.nextLine()).useDelimiter("\t");
-            double toxicity = line.nextDouble();
-            String comment = line.next();
+    private static void addComments(ExtrinsicMinPQ<String> pq, CommentReader reader, int n)
+            throws IOException, InterruptedException {
+        List<CommentReader.Comment> comments = new ArrayList<>(n);
+        int i = reader.take(comments, n);
+        for (CommentReader.Comment comment : comments) {
             // Prioritize most toxic content first by negating the weight.
-            pq.add(comment, -toxicity);
+            pq.add(comment.text, -comment.toxicity);
         }
         System.out.println(i + " comments added to pq");
     }
-}
+}
\ No newline at end of file
@@ -2,6 +2,7 @@ package minpq.moderator;
 
 import minpq.*;
 
+import java.io.Closeable;
 import java.io.FileInputStream;
 import java.io.IOException;
 import java.util.*;
@@ -15,12 +16,26 @@ import java.util.zip.GZIPInputStream;
  * @see UnsortedArrayMinPQ
  * @see HeapMinPQ
  * @see OptimizedHeapMinPQ
+ * @see PairingHeapMinPQ
+ * @see RadixHeapMinPQ
+ * @see BucketMinPQ
+ * @see MultiQueueMinPQ
+ * @see MappedMinPQ
+ * @see LazyDeletionHeapMinPQ
+ * @see CompactHeapMinPQ
+ * @see LeftistHeapMinPQ
+ * @see BoundedMinPQ
+ * @see MinMaxHeapMinPQ
  */
 class ModeratorMultiTest {
     /**
      * Path to the toxic content.
      */
     private static final String PATH = "data/toxic.tsv.gz";
+    /**
+     * Number of items compared by the {@code peekMin(k)} tests.
+     */
+    private static final int PEEK_COUNT = 100;
 
     /**
      * Add all comments and toxicities to the given priority queue.
@@ -53,6 +68,23 @@ class ModeratorMultiTest {
         return refOutput.equals(testOutput);
     }
 
+    /**
+     * Returns true if {@code test.peekMin(k)} matches the first <i>k</i> items removed from {@code copy} and leaves the
+     * size of {@code test} unchanged.
+     *
+     * @param copy a reference priority queue with the same contents as {@code test}, which is modified.
+     * @param test the testing priority queue.
+     * @param k    the number of items to peek.
+     * @return true if peeking returns the same items in the same order as removing.
+     */
+    private static boolean samePeekOrder(ExtrinsicMinPQ<String> copy, ExtrinsicMinPQ<String> test, int k) {
+        int size = test.size();
+        List<String> testOutput = test.peekMin(k);
+        List<String> copyOutput = new ArrayList<>();
+        copy.removeMin(k, copyOutput);
+        return copyOutput.equals(testOutput) && test.size() == size;
+    }
+
     public static void main(String[] args) throws IOException, InterruptedException {
         // We go toxicity -> comment because all toxicity values used for testing need to be unique.
         Map<Double, String> toxic = new LinkedHashMap<>();
@@ -69,10 +101,26 @@ class ModeratorMultiTest {
         System.out.println(toxic.size() + " comments loaded");
 
         // Testing implementations.
-        Map<String, ExtrinsicMinPQ<String>> implementations = Map.of(
-                "UnsortedArrayMinPQ", new UnsortedArrayMinPQ<>(),
-                "HeapMinPQ", new HeapMinPQ<>(),
-                "OptimizedHeapMinPQ", new OptimizedHeapMinPQ<>()
+        Map<String, ExtrinsicMinPQ<String>> implementations = Map.ofEntries(
+                Map.entry("UnsortedArrayMinPQ", new UnsortedArrayMinPQ<>()),
+                Map.entry("HeapMinPQ", new HeapMinPQ<>()),
+                Map.entry("OptimizedHeapMinPQ", new OptimizedHeapMinPQ<>()),
+                Map.entry("PairingHeapMinPQ", new PairingHeapMinPQ<>()),
+                Map.entry("RadixHeapMinPQ", new RadixHeapMinPQ<>()),
+                // Test 7 reassigns the non-negated toxicity values, so the range covers both signs.
+                Map.entry("BucketMinPQ", new BucketMinPQ<>(-1.0, 1.0, 1000)),
+                // Only strict mode guarantees the same removal order as the reference.
+                Map.entry("MultiQueueMinPQ", new MultiQueueMinPQ<>(4, true)),
+                Map.entry("MappedMinPQ", new MappedMinPQ()),
+                Map.entry("LazyDeletionHeapMinPQ", new LazyDeletionHeapMinPQ<>()),
+                Map.entry("CompactHeapMinPQ", new CompactHeapMinPQ<>()),
+                Map.entry("LeftistHeapMinPQ", new LeftistHeapMinPQ<>()),
+                Map.entry("MinMaxHeapMinPQ", new MinMaxHeapMinPQ<>()),
+                // The capacity exceeds the number of comments, so nothing is evicted.
+                Map.entry("BoundedMinPQ", new BoundedMinPQ<>(Integer.MAX_VALUE)),
+                Map.entry("BoundedMinPQ(BucketMinPQ)", new BoundedMinPQ<>(
+                        new BucketMinPQ<>(-1.0, 1.0, 1000), Integer.MAX_VALUE, (comment, priority) -> {
+                        }))
         );
 
         // Check each implementation against the reference matches.
@@ -113,6 +161,14 @@ class ModeratorMultiTest {
             else
                 System.out.println(name + " peek() FAIL!");
 
+            // Test 3b: See if peekMin(k) returns the same items as removing k items from a copy.
+            ExtrinsicMinPQ<String> copyPQ = new DoubleMapMinPQ<>();
+            addAllComments(toxic, copyPQ);
+            if (samePeekOrder(copyPQ, testPQ, PEEK_COUNT))
+                System.out.println(name + " peekMin(k) PASS!");
+            else
+                System.out.println(name + " peekMin(k) FAIL!");
+
             // Test 4: Remove all comments from both the reference and test PQ, make sure
             // the order matches.
             if (sameRemoveOrder(referencePQ, testPQ))
@@ -157,18 +213,67 @@ class ModeratorMultiTest {
             Collections.shuffle(shuffledPriorities);
 
             // Change priority.
+            copyPQ = new DoubleMapMinPQ<>();
             for (int i = 0; i < shuffledComments.size(); i++) {
                 referencePQ.changePriority(shuffledComments.get(i), shuffledPriorities.get(i));
                 testPQ.changePriority(shuffledComments.get(i), shuffledPriorities.get(i));
+                copyPQ.add(shuffledComments.get(i), shuffledPriorities.get(i));
             }
 
+            // Make sure peekMin(k) reflects the new priorities.
+            if (samePeekOrder(copyPQ, testPQ, PEEK_COUNT))
+                System.out.println(name + " peekMin(k) PASS [after changePriority]!");
+            else
+                System.out.println(name + " peekMin(k) FAIL [after changePriority]!");
+
             // Make sure order matches after `changePriority`.
             if (sameRemoveOrder(referencePQ, testPQ))
                 System.out.println(name + " changePriority() PASS!");
             else
                 System.out.println(name + " changePriority() FAIL!");
 
+            // Test 8: For double-ended PQs, removing from the max end should reverse the reference order.
+            if (testPQ instanceof DoubleEndedMinPQ) {
+                DoubleEndedMinPQ<String> doubleEndedPQ = (DoubleEndedMinPQ<String>) testPQ;
+                addAllComments(toxic, referencePQ);
+                addAllComments(toxic, doubleEndedPQ);
+                List<String> refOutput = new ArrayList<>();
+                List<String> testOutput = new ArrayList<>();
+                while (!referencePQ.isEmpty()) {
+                    refOutput.add(referencePQ.removeMin());
+                    testOutput.add(doubleEndedPQ.removeMax());
+                }
+                Collections.reverse(testOutput);
+                if (refOutput.equals(testOutput))
+                    System.out.println(name + " removeMax() PASS!");
+                else
+                    System.out.println(name + " removeMax() FAIL!");
+            }
+
+            // Release any files or other resources held by the implementation.
+            if (testPQ instanceof Closeable)
+                ((Closeable) testPQ).close();
+
             System.out.println();
         }
+
+        // Check that an item rejected by the wrapped priority queue of a full BoundedMinPQ evicts nothing.
+        List<String> evicted = new ArrayList<>();
+        BoundedMinPQ<String> boundedPQ = new BoundedMinPQ<>(new BucketMinPQ<>(-1.0, 1.0, 1000), 2,
+                (comment, priority) -> evicted.add(comment));
+        boundedPQ.add("a", 0.5);
+        boundedPQ.add("b", 0.6);
+        boolean rejected = false;
+        try {
+            // The priority is below the current maximum but outside the range of the buckets.
+            boundedPQ.add("c", -2.0);
+        } catch (IllegalArgumentException e) {
+            rejected = true;
+        }
+        if (rejected && boundedPQ.size() == 2 && boundedPQ.contains("a") && boundedPQ.contains("b")
+                && !boundedPQ.contains("c") && evicted.isEmpty() && boundedPQ.evictionCount() == 0)
+            System.out.println("BoundedMinPQ(BucketMinPQ) add() PASS [after rejected priority]!");
+        else
+            System.out.println("BoundedMinPQ(BucketMinPQ) add() FAIL [after rejected priority]!");
     }
 }
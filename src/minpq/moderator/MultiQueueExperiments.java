@@ -0,0 +1,193 @@
+package minpq.moderator;
+
+import minpq.DoubleMapMinPQ;
+import minpq.ExtrinsicMinPQ;
+import minpq.MultiQueueMinPQ;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Measure the rank error and multithreaded throughput of strict and relaxed {@link MultiQueueMinPQ} instances, using a
+ * single globally-locked {@link DoubleMapMinPQ} as the baseline.
+ *
+ * @see MultiQueueMinPQ
+ */
+class MultiQueueExperiments {
+    /**
+     * Number of items used to measure rank error.
+     */
+    private static final int NUM_ITEMS = 1000000;
+    /**
+     * Number of operations each thread performs when measuring throughput.
+     */
+    private static final int OPS_PER_THREAD = 1000000;
+    /**
+     * Thread counts used when measuring throughput.
+     */
+    private static final int[] NUM_THREADS = {1, 2, 4, 8, 16};
+
+    public static void main(String[] args) throws Exception {
+        int maxThreads = NUM_THREADS[NUM_THREADS.length - 1];
+
+        // Rank error: remove every item and check how many smaller items were still present at each removal.
+        System.out.println("Rank error with " + NUM_ITEMS + " items and " + maxThreads + " threads' worth of heaps");
+        for (boolean strict : new boolean[]{true, false}) {
+            double[] result = rankError(new MultiQueueMinPQ<>(maxThreads, strict));
+            System.out.printf("%s: mean %.2f, max %.0f%n", strict ? "strict" : "relaxed", result[0], result[1]);
+        }
+        System.out.println();
+
+        // Throughput: each thread alternates between adding and removing items.
+        System.out.println("Throughput in operations per second");
+        for (int numThreads : NUM_THREADS) {
+            double locked = throughput(new LockedMinPQ<>(new DoubleMapMinPQ<>()), numThreads);
+            double strict = throughput(new MultiQueueMinPQ<>(numThreads, true), numThreads);
+            double relaxed = throughput(new MultiQueueMinPQ<>(numThreads, false), numThreads);
+            System.out.printf("%d threads: locked %.0f, strict %.0f, relaxed %.0f%n",
+                    numThreads, locked, strict, relaxed);
+        }
+    }
+
+    /**
+     * Adds {@code NUM_ITEMS} items with random priorities, removes them all, and returns the mean and max rank error,
+     * where the rank error of a removal is the number of items remaining with a smaller priority value.
+     *
+     * @param pq the priority queue to measure.
+     * @return an array containing the mean and max rank error.
+     */
+    private static double[] rankError(ExtrinsicMinPQ<Integer> pq) {
+        Random random = new Random(373);
+        double[] priorities = new double[NUM_ITEMS];
+        for (int i = 0; i < NUM_ITEMS; i += 1) {
+            priorities[i] = random.nextDouble();
+            pq.add(i, priorities[i]);
+        }
+        // Sorted position of each item, used to index a Fenwick tree counting the items still present.
+        Integer[] order = new Integer[NUM_ITEMS];
+        for (int i = 0; i < NUM_ITEMS; i += 1) {
+            order[i] = i;
+        }
+        Arrays.sort(order, Comparator.comparingDouble(i -> priorities[i]));
+        int[] rank = new int[NUM_ITEMS];
+        for (int i = 0; i < NUM_ITEMS; i += 1) {
+            rank[order[i]] = i;
+        }
+        int[] present = new int[NUM_ITEMS + 1];
+        for (int i = 1; i <= NUM_ITEMS; i += 1) {
+            present[i] += 1;
+            int parent = i + (i & -i);
+            if (parent <= NUM_ITEMS) {
+                present[parent] += present[i];
+            }
+        }
+
+        long totalError = 0;
+        long maxError = 0;
+        while (!pq.isEmpty()) {
+            int item = pq.removeMin();
+            long error = 0;
+            for (int i = rank[item]; i > 0; i -= i & -i) {
+                error += present[i];
+            }
+            for (int i = rank[item] + 1; i <= NUM_ITEMS; i += i & -i) {
+                present[i] -= 1;
+            }
+            totalError += error;
+            maxError = Math.max(maxError, error);
+        }
+        return new double[]{(double) totalError / NUM_ITEMS, maxError};
+    }
+
+    /**
+     * Returns the number of operations per second when the given number of threads alternate adding and removing.
+     *
+     * @param pq         the priority queue to measure.
+     * @param numThreads the number of threads.
+     * @return the number of operations per second.
+     * @throws Exception if a thread fails.
+     */
+    private static double throughput(ExtrinsicMinPQ<Integer> pq, int numThreads) throws Exception {
+        // Prefill so that removals rarely find the priority queue empty.
+        Random random = new Random(373);
+        for (int i = 0; i < NUM_ITEMS; i += 1) {
+            pq.add(-i - 1, random.nextDouble());
+        }
+        ExecutorService executor = Executors.newFixedThreadPool(numThreads);
+        List<Callable<Void>> tasks = new ArrayList<>();
+        for (int t = 0; t < numThreads; t += 1) {
+            int firstItem = t * OPS_PER_THREAD;
+            tasks.add(() -> {
+                Random threadRandom = new Random(firstItem);
+                for (int i = 0; i < OPS_PER_THREAD; i += 2) {
+                    pq.add(firstItem + i, threadRandom.nextDouble());
+                    pq.removeMin();
+                }
+                return null;
+            });
+        }
+        long start = System.nanoTime();
+        for (Future<Void> future : executor.invokeAll(tasks)) {
+            future.get();
+        }
+        long time = System.nanoTime() - start;
+        executor.shutdown();
+        return (double) numThreads * OPS_PER_THREAD / time * 1_000_000_000;
+    }
+
+    /**
+     * {@link ExtrinsicMinPQ} decorator that guards every operation with a single global lock.
+     *
+     * @param <T> the type of elements in this priority queue.
+     */
+    private static class LockedMinPQ<T> implements ExtrinsicMinPQ<T> {
+        private final ExtrinsicMinPQ<T> pq;
+
+        LockedMinPQ(ExtrinsicMinPQ<T> pq) {
+            this.pq = pq;
+        }
+
+        @Override
+        public synchronized void add(T item, double priority) {
+            pq.add(item, priority);
+        }
+
+        @Override
+        public synchronized boolean contains(T item) {
+            return pq.contains(item);
+        }
+
+        @Override
+        public synchronized T peekMin() {
+            return pq.peekMin();
+        }
+
+        @Override
+        public synchronized T removeMin() {
+            return pq.removeMin();
+        }
+
+        @Override
+        public synchronized void changePriority(T item, double priority) {
+            pq.changePriority(item, priority);
+        }
+
+        @Override
+        public synchronized int size() {
+            return pq.size();
+        }
+
+        @Override
+        public synchronized Iterator<T> snapshotIterator() {
+            return pq.snapshotIterator();
+        }
+    }
+}